@@ -0,0 +1,59 @@
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.models.RequestContext;
+import io.swagger.oas.inflector.models.ResponseContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling a controller method reflectively with calling it through {@link ControllerInvoker}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerInvokerBenchmark {
+    private Object[] args;
+    private Method method;
+    private SampleController controller;
+    private ControllerInvoker invoker;
+
+    @Setup
+    public void setUp() throws Exception {
+        controller = new SampleController();
+        method = SampleController.class.getMethod("getThing", RequestContext.class, String.class, Integer.class);
+        invoker = ControllerInvoker.of(controller, method);
+        args = new Object[]{new RequestContext(), "thing-1", 42};
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return method.invoke(controller, args);
+    }
+
+    @Benchmark
+    public Object invoker() throws Exception {
+        return invoker.invoke(args);
+    }
+
+    public static class SampleController {
+        private final ResponseContext response = new ResponseContext().status(200);
+
+        public ResponseContext getThing(RequestContext request, String id, Integer limit) {
+            return id != null && limit != null ? response : null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.swagger.oas.inflector.converters;
+
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.media.UUIDSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a query string with ten typed parameters through the converter chain and through pipelines compiled
+ * for each parameter's class, with either valid values or values that all fail to convert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParameterCoercionBenchmark {
+    @Param({"valid", "invalid"})
+    public String values;
+
+    private Parameter[] parameters;
+    private Class<?>[] classes;
+    private List<String>[] arguments;
+    private InputConverter converter;
+    private ParameterPipeline[] pipelines;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        boolean valid = "valid".equals(values);
+        parameters = new Parameter[]{
+                query("page", new IntegerSchema()),
+                query("limit", new IntegerSchema()),
+                query("offset", new IntegerSchema().format("int64")),
+                query("lat", new NumberSchema().format("double")),
+                query("lng", new NumberSchema().format("double")),
+                query("active", new BooleanSchema()),
+                query("owner", new UUIDSchema()),
+                query("from", new DateSchema()),
+                query("since", new DateTimeSchema()),
+                query("q", new StringSchema())
+        };
+        classes = new Class<?>[]{
+                Integer.class, Integer.class, Long.class, Double.class, Double.class,
+                Boolean.class, UUID.class, LocalDate.class, DateTime.class, String.class
+        };
+        String[] raw = valid
+                ? new String[]{"3", "50", "1200", "52.3702", "4.8952", "true",
+                "3f2504e0-4f89-11d3-9a0c-0305e82c3301", "2017-06-01", "2017-06-01T12:30:00Z", "dogs"}
+                : new String[]{"three", "fifty", "lots", "north", "east", "true",
+                "nobody", "2017-06-01", "2017-06-01T12:30:00Z", "dogs"};
+        arguments = new List[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            arguments[i] = Collections.singletonList(raw[i]);
+        }
+        converter = new InputConverter().defaultConverters().defaultValidators();
+        pipelines = new ParameterPipeline[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            pipelines[i] = converter.compile(parameters[i], classes[i]);
+        }
+    }
+
+    @Benchmark
+    public void chain(Blackhole blackhole) {
+        for (int i = 0; i < parameters.length; i++) {
+            try {
+                blackhole.consume(converter.convertAndValidate(arguments[i], parameters[i], classes[i], null));
+            } catch (Exception e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void pipeline(Blackhole blackhole) {
+        for (int i = 0; i < pipelines.length; i++) {
+            try {
+                blackhole.consume(pipelines[i].convertAndValidate(arguments[i], classes[i], null));
+            } catch (Exception e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    private static Parameter query(String name, Schema<?> schema) {
+        return new QueryParameter().name(name).schema(schema);
+    }
+}
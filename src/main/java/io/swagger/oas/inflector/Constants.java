@@ -23,6 +23,8 @@ public class Constants {
     public static final String X_INFLECTOR_NULL_EXAMPLE = "x-inflector-null-example";
     public static final String X_INFLECTOR_SKIP_INPUT_VALIDATION = "x-skip-input-validation";
     public static final String X_INFLECTOR_SKIP_OUPUT_VALIDATION = "x-skip-output-validation";
+    public static final String X_INFLECTOR_EXAMPLE_WEIGHT = "x-inflector-weight";
+    public static final String X_INFLECTOR_OUTPUT_SAMPLE_RATE = "x-inflector-output-sample-rate";
 
     public enum VendorExtension {
         X_SWAGGER_ROUTER_CONTROLLER("x-swagger-router-controller"),
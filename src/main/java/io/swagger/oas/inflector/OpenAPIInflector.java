@@ -9,13 +9,13 @@ import com.fasterxml.jackson.jaxrs.yaml.JacksonYAMLProvider;
 import io.swagger.oas.inflector.config.Configuration;
 import io.swagger.oas.inflector.config.ExposedSpecOptions;
 import io.swagger.oas.inflector.config.FilterFactory;
+import io.swagger.oas.inflector.controllers.ControllerClassIndex;
 import io.swagger.oas.inflector.controllers.InflectResultController;
 import io.swagger.oas.inflector.controllers.OpenAPIOperationController;
 import io.swagger.oas.inflector.controllers.OpenAPIResourceController;
 import io.swagger.oas.inflector.converters.Converter;
 import io.swagger.oas.inflector.converters.InputConverter;
 import io.swagger.oas.inflector.models.InflectResult;
-import io.swagger.oas.inflector.processors.EntityProcessor;
 import io.swagger.oas.inflector.processors.EntityProcessorFactory;
 import io.swagger.oas.inflector.processors.JacksonProcessor;
 import io.swagger.oas.inflector.processors.JsonExampleProvider;
@@ -23,6 +23,7 @@ import io.swagger.oas.inflector.processors.JsonNodeExampleSerializer;
 import io.swagger.oas.inflector.processors.JsonProvider;
 import io.swagger.oas.inflector.processors.PlainExampleProvider;
 import io.swagger.oas.inflector.processors.PlainProcessor;
+import io.swagger.oas.inflector.processors.TemporaryFilesCleanup;
 import io.swagger.oas.inflector.processors.XMLExampleProvider;
 import io.swagger.oas.inflector.processors.YamlExampleProvider;
 import io.swagger.oas.inflector.schema.SchemaValidator;
@@ -50,6 +51,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,10 +68,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 
 public class OpenAPIInflector extends ResourceConfig {
@@ -119,10 +128,12 @@ public class OpenAPIInflector extends ResourceConfig {
 
     protected void init(Configuration configuration) {
         config = configuration;
+        // read the spec once; both the runtime model and the exposed one are parsed from the same content
+        String specContent = readSpec(config.getSwaggerUrl());
         ParseOptions options = new ParseOptions();
         options.setResolve(true);
         options.setResolveFully(true);
-        SwaggerParseResult swaggerParseResult = new OpenAPIV3Parser().readLocation(config.getSwaggerUrl(), null, options);
+        SwaggerParseResult swaggerParseResult = parseSpec(specContent, options);
         
         // Dump any warning messages the parser might produce
         if (!swaggerParseResult.getMessages().isEmpty()) {
@@ -137,7 +148,10 @@ public class OpenAPIInflector extends ResourceConfig {
             SchemaValidator.setOpenApiVersion(openAPI.getOpenapi());
         }
 
-        OpenAPI exposedAPI = getExposedAPI(config);
+        OpenAPI exposedAPI = getExposedAPI(config, specContent);
+
+        // operations capture the converters and validators when their controllers are built
+        configureInputConverter();
 
         if(!config.getValidatePayloads().isEmpty()) {
             LOGGER.info("resolving openAPI");
@@ -178,41 +192,33 @@ public class OpenAPIInflector extends ResourceConfig {
             } else {
                 definitions = openAPI.getComponents().getSchemas();
             }
+            Map<String, List<OperationRegistration>> registrations = new LinkedHashMap<>();
             for (String pathString : paths.keySet()) {
                 PathItem pathItem = paths.get(pathString);
+                List<OperationRegistration> pathRegistrations = new ArrayList<>();
+                addOperation(pathRegistrations, pathString, HttpMethod.GET, pathItem.getGet());
+                addOperation(pathRegistrations, pathString, HttpMethod.HEAD, pathItem.getHead());
+                addOperation(pathRegistrations, pathString, HttpMethod.POST, pathItem.getPost());
+                addOperation(pathRegistrations, pathString, HttpMethod.PUT, pathItem.getPut());
+                addOperation(pathRegistrations, pathString, HttpMethod.DELETE, pathItem.getDelete());
+                addOperation(pathRegistrations, pathString, HttpMethod.OPTIONS, pathItem.getOptions());
+                addOperation(pathRegistrations, pathString, "PATCH", pathItem.getPatch());
+                registrations.put(pathString, pathRegistrations);
+            }
+
+            createControllers(registrations, definitions);
+            ControllerClassIndex.clear();
+
+            for (Map.Entry<String, List<OperationRegistration>> entry : registrations.entrySet()) {
                 final Resource.Builder builder = Resource.builder();
                 this.basePath = configuration.getRootPath() + openAPI.getServers().get(0).getUrl();
 
-                builder.path(basePath(originalBasePath, pathString));
-                Operation operation;
-
-                operation = pathItem.getGet();
-                if (operation != null) {
-                    addOperation(pathString, builder, HttpMethod.GET, operation, definitions);
-                }
-                operation = pathItem.getHead();
-                if (operation != null) {
-                    addOperation(pathString, builder, HttpMethod.HEAD, operation, definitions);
-                }
-                operation = pathItem.getPost();
-                if (operation != null) {
-                    addOperation(pathString, builder, HttpMethod.POST, operation, definitions);
-                }
-                operation = pathItem.getPut();
-                if (operation != null) {
-                    addOperation(pathString, builder, HttpMethod.PUT, operation, definitions);
-                }
-                operation = pathItem.getDelete();
-                if (operation != null) {
-                    addOperation(pathString, builder, HttpMethod.DELETE, operation, definitions);
-                }
-                operation = pathItem.getOptions();
-                if (operation != null) {
-                    addOperation(pathString, builder, HttpMethod.OPTIONS, operation, definitions);
-                }
-                operation = pathItem.getPatch();
-                if (operation != null) {
-                    addOperation(pathString, builder, "PATCH", operation, definitions);
+                builder.path(basePath(originalBasePath, entry.getKey()));
+                for (OperationRegistration registration : entry.getValue()) {
+                    for (int i = 0; i < registration.mediaTypes.size(); i++) {
+                        addConsumesToResource(registration.mediaTypes.get(i), builder, registration.method,
+                                registration.controllers.get(i));
+                    }
                 }
                 registerResources(builder.build());
             }
@@ -259,7 +265,7 @@ public class OpenAPIInflector extends ResourceConfig {
                     register(new DefaultContentTypeProvider(MediaType.APPLICATION_JSON_TYPE),
                             ContextResolver.class);
                 }
-                enableProcessor(JacksonProcessor.class, MediaType.APPLICATION_JSON_TYPE);
+                EntityProcessorFactory.addProcessor(JacksonProcessor.class, MediaType.APPLICATION_JSON_TYPE);
                 enableSwaggerJSON(exposedAPI, configuration.getSwaggerProcessors());
             } else if ("xml".equalsIgnoreCase(item)) {
                 // XML
@@ -267,7 +273,7 @@ public class OpenAPIInflector extends ResourceConfig {
                     register(new DefaultContentTypeProvider(MediaType.APPLICATION_XML_TYPE),
                             ContextResolver.class);
                 }
-                enableProcessor(JacksonProcessor.class, MediaType.APPLICATION_XML_TYPE);
+                EntityProcessorFactory.addProcessor(JacksonProcessor.class, MediaType.APPLICATION_XML_TYPE);
                 register(JacksonJaxbXMLProvider.class);
                 register(XMLExampleProvider.class);
             } else if ("yaml".equalsIgnoreCase(item)) {
@@ -275,16 +281,37 @@ public class OpenAPIInflector extends ResourceConfig {
                 Yaml.mapper().registerModule(simpleModule);
                 register(YamlExampleProvider.class);
                 register(JacksonYAMLProvider.class);
-                enableProcessor(JacksonProcessor.class, JacksonProcessor.APPLICATION_YAML_TYPE);
+                EntityProcessorFactory.addProcessor(JacksonProcessor.class, JacksonProcessor.APPLICATION_YAML_TYPE);
                 enableSwaggerYAML(exposedAPI, configuration.getSwaggerProcessors());
             }else if ("plain".equalsIgnoreCase(item)) {
                 // PLAIN
                 register(PlainExampleProvider.class);
-                enableProcessor(PlainProcessor.class, MediaType.TEXT_PLAIN_TYPE);
+                EntityProcessorFactory.addProcessor(PlainProcessor.class, MediaType.TEXT_PLAIN_TYPE);
             }
         }
 
+        EntityProcessorFactory.resolveMediaTypes();
+
         register(new MultiPartFeature());
+        register(new TemporaryFilesCleanup());
+
+        // the default validation threads live as long as the application
+        final Configuration shutdownConfig = config;
+        register(new ContainerLifecycleListener() {
+            @Override
+            public void onStartup(Container container) {
+            }
+
+            @Override
+            public void onReload(Container container) {
+            }
+
+            @Override
+            public void onShutdown(Container container) {
+                shutdownConfig.shutdownOutputValidationExecutor();
+                shutdownConfig.shutdownParallelArrayValidationPool();
+            }
+        });
 
         // Swagger serializers
         register(SwaggerSerializers.class);
@@ -294,50 +321,6 @@ public class OpenAPIInflector extends ResourceConfig {
             register(exceptionMapper);
         }
 
-        // validators
-        if (config.getInputValidators() != null && config.getInputValidators().size() > 0) {
-            InputConverter.getInstance().getValidators().clear();
-            for (String inputValidator : config.getInputValidators()) {
-                try {
-                    String clsName = inputValidator;
-                    if ("requiredFieldValidator".equalsIgnoreCase(inputValidator)) {
-                        clsName = "io.swagger.oas.inflector.validators.DefaultValidator";
-                    }
-                    if ("numericValidator".equalsIgnoreCase(inputValidator)) {
-                        clsName = "io.swagger.oas.inflector.validators.NumericValidator";
-                    }
-                    if ("stringValidator".equalsIgnoreCase(inputValidator)) {
-                        clsName = "io.swagger.oas.inflector.validators.StringTypeValidator";
-                    }
-                    InputConverter.getInstance().addValidator((Validator) Class.forName(clsName).newInstance());
-                } catch (Exception e) {
-                    LOGGER.warn("unable to add validator `{}`", inputValidator);
-                    e.printStackTrace();
-                }
-            }
-        } else {
-            InputConverter.getInstance().defaultValidators();
-        }
-
-        // converters
-        if (config.getInputConverters() != null && config.getInputConverters().size() > 0) {
-            InputConverter.getInstance().getConverters().clear();
-            for (String converter : config.getInputConverters()) {
-                try {
-                    String clsName = converter;
-                    if ("defaultConverter".equalsIgnoreCase(converter)) {
-                        clsName = "io.swagger.oas.inflector.converters.DefaultConverter";
-                    }
-                    LOGGER.debug("adding converter `{}`", clsName);
-                    InputConverter.getInstance().addConverter((Converter) Class.forName(clsName).newInstance());
-                } catch (Exception e) {
-                    LOGGER.warn("unable to add converter `{}`", converter);
-                }
-            }
-        } else {
-            InputConverter.getInstance().defaultConverters();
-        }
-
         InflectResult result = new InflectResult();
         for(String key: swaggerParseResult.getMessages()) {
             result.specParseMessage(key);
@@ -437,20 +420,49 @@ public class OpenAPIInflector extends ResourceConfig {
         return basePath + path;
     }
 
-    private void enableProcessor(Class<?> cls, MediaType type) {
-        List<EntityProcessor> processors = EntityProcessorFactory.getProcessors();
-        for(EntityProcessor processor : processors) {
-            if (processor.getClass().equals(cls)) {
-                processor.enableType(type);
-                return;
+    private void configureInputConverter() {
+        // validators
+        if (config.getInputValidators() != null && config.getInputValidators().size() > 0) {
+            InputConverter.getInstance().getValidators().clear();
+            for (String inputValidator : config.getInputValidators()) {
+                try {
+                    String clsName = inputValidator;
+                    if ("requiredFieldValidator".equalsIgnoreCase(inputValidator)) {
+                        clsName = "io.swagger.oas.inflector.validators.DefaultValidator";
+                    }
+                    if ("numericValidator".equalsIgnoreCase(inputValidator)) {
+                        clsName = "io.swagger.oas.inflector.validators.NumericValidator";
+                    }
+                    if ("stringValidator".equalsIgnoreCase(inputValidator)) {
+                        clsName = "io.swagger.oas.inflector.validators.StringTypeValidator";
+                    }
+                    InputConverter.getInstance().addValidator((Validator) Class.forName(clsName).newInstance());
+                } catch (Exception e) {
+                    LOGGER.warn("unable to add validator `{}`", inputValidator);
+                    e.printStackTrace();
+                }
             }
+        } else {
+            InputConverter.getInstance().defaultValidators();
         }
-        try {
-            EntityProcessor processor = (EntityProcessor) cls.newInstance();
-            processor.enableType(type);
-        }
-        catch (Exception e) {
-            LOGGER.error("unable to initialize class {}", cls);
+
+        // converters
+        if (config.getInputConverters() != null && config.getInputConverters().size() > 0) {
+            InputConverter.getInstance().getConverters().clear();
+            for (String converter : config.getInputConverters()) {
+                try {
+                    String clsName = converter;
+                    if ("defaultConverter".equalsIgnoreCase(converter)) {
+                        clsName = "io.swagger.oas.inflector.converters.DefaultConverter";
+                    }
+                    LOGGER.debug("adding converter `{}`", clsName);
+                    InputConverter.getInstance().addConverter((Converter) Class.forName(clsName).newInstance());
+                } catch (Exception e) {
+                    LOGGER.warn("unable to add converter `{}`", converter);
+                }
+            }
+        } else {
+            InputConverter.getInstance().defaultConverters();
         }
     }
 
@@ -459,7 +471,7 @@ public class OpenAPIInflector extends ResourceConfig {
         builder.path(basePath(originalBasePath, StringUtils.appendIfMissing(config.getSwaggerBase(), "/") + "openapi.json"))
                 .addMethod(HttpMethod.GET)
                 .produces(MediaType.APPLICATION_JSON)
-                .handledBy(new OpenAPIResourceController(openAPI, swaggerProcessors))
+                .handledBy(new OpenAPIResourceController(openAPI, swaggerProcessors, MediaType.APPLICATION_JSON_TYPE))
                 .build();
 
         registerResources(builder.build());
@@ -470,34 +482,105 @@ public class OpenAPIInflector extends ResourceConfig {
         builder.path(basePath(originalBasePath, StringUtils.appendIfMissing(config.getSwaggerBase(), "/") + "openapi.yaml"))
                 .addMethod(HttpMethod.GET)
                 .produces("application/yaml")
-                .handledBy(new OpenAPIResourceController(openAPI, swaggerProcessors))
+                .handledBy(new OpenAPIResourceController(openAPI, swaggerProcessors, JacksonProcessor.APPLICATION_YAML_TYPE))
                 .build();
 
         registerResources(builder.build());
     }
 
-    private void addOperation(String pathString, Resource.Builder builder, String method, Operation operation, Map<String, Schema> definitions) {
+    private void addOperation(List<OperationRegistration> registrations, String pathString, String method, Operation operation) {
+        if (operation == null) {
+            return;
+        }
         LOGGER.debug("adding operation for `{}` {}", pathString, method);
+        OperationRegistration registration = new OperationRegistration(pathString, method, operation);
         if (operation.getRequestBody() != null){
             RequestBody body = operation.getRequestBody();
             if(body.getContent() != null){
                 Map<String, io.swagger.v3.oas.models.media.MediaType> content = body.getContent();
                 for (String mediaType: content.keySet()){
                     if (content.get(mediaType) != null){
-                        OpenAPIOperationController controller = createController(pathString,method,operation, mediaType,definitions);
-                        addConsumesToResource(mediaType,builder,method,controller);
+                        registration.mediaTypes.add(mediaType);
                     }
                 }
             }
         }else {
-            OpenAPIOperationController controller = createController(pathString,method,operation, "",definitions);
-            addConsumesToResource("",builder,method,controller);
+            registration.mediaTypes.add("");
+        }
+        registrations.add(registration);
+    }
+
+    /**
+     * Builds the controllers of all operations, on a fork/join pool when startup parallelism is enabled.
+     * Each operation's controllers are built by one task, since they share the operation model; the
+     * bookkeeping of missing methods and models is done afterwards, in spec order.
+     */
+    private void createControllers(Map<String, List<OperationRegistration>> registrations, final Map<String, Schema> definitions) {
+        final List<OperationRegistration> all = new ArrayList<>();
+        for (List<OperationRegistration> pathRegistrations : registrations.values()) {
+            all.addAll(pathRegistrations);
+        }
+        int parallelism = config.getStartupParallelism() > 0 ? config.getStartupParallelism() : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        if (parallelism == 1 || all.size() < 2) {
+            parallelism = 1;
+            for (OperationRegistration registration : all) {
+                registration.build(config, definitions);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<Callable<Void>> tasks = new ArrayList<>(all.size());
+                for (final OperationRegistration registration : all) {
+                    tasks.add(() -> {
+                        registration.build(config, definitions);
+                        return null;
+                    });
+                }
+                for (Future<Void> future : pool.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while creating controllers", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
 
+        int controllers = 0;
+        int mocked = 0;
+        for (OperationRegistration registration : all) {
+            for (OpenAPIOperationController controller : registration.controllers) {
+                registerController(controller);
+                controllers++;
+                if (controller.getMethod() == null) {
+                    mocked++;
+                }
+            }
+        }
+        LOGGER.info("created {} operation controllers ({} mocked) for {} operations in {} ms with parallelism {}",
+                controllers, mocked, all.size(), TimeUnit.NANOSECONDS.toMillis(elapsed), parallelism);
+        if (LOGGER.isDebugEnabled()) {
+            List<OperationRegistration> slowest = new ArrayList<>(all);
+            slowest.sort((a, b) -> Long.compare(b.buildNanos, a.buildNanos));
+            for (OperationRegistration registration : slowest.subList(0, Math.min(10, slowest.size()))) {
+                LOGGER.debug("{} `{}` took {} ms to set up", registration.method, registration.path,
+                        TimeUnit.NANOSECONDS.toMillis(registration.buildNanos));
+            }
         }
     }
 
-    private OpenAPIOperationController createController(String pathString, String method, Operation operation, String mediaType, Map<String, Schema> definitions) {
-        OpenAPIOperationController controller = new OpenAPIOperationController(config, pathString, method, operation, mediaType, definitions);
+    private void registerController(OpenAPIOperationController controller) {
         if (controller.getMethod() == null) {
             if (controller.getMethodName() != null) {
                 List<String> missingMethods = missingOperations.get(controller.getControllerName());
@@ -509,7 +592,6 @@ public class OpenAPIInflector extends ResourceConfig {
             }
         }
         unimplementedMappedModels.addAll(controller.getUnimplementedMappedModels());
-        return controller;
     }
 
     private void addConsumesToResource(String mediaType, Resource.Builder builder, String method, OpenAPIOperationController controller) {
@@ -529,15 +611,15 @@ public class OpenAPIInflector extends ResourceConfig {
         }
     }
 
-    private OpenAPI getExposedAPI(Configuration config) {
+    private OpenAPI getExposedAPI(Configuration config, String specContent) {
         ExposedSpecOptions exposedSpecOptions =  config.getExposedSpecOptions();
         boolean hideExtension = exposedSpecOptions.isHideInflectorExtensions();
         OpenAPI exposedAPI = null;
-        if (exposedSpecOptions.isUseOriginalNotParsed()) {
-            exposedAPI = deserializeSpec(config.getSwaggerUrl());
+        if (exposedSpecOptions.isUseOriginalNotParsed() && specContent != null) {
+            exposedAPI = deserializeSpec(specContent);
         }
         if (exposedAPI == null) {
-            SwaggerParseResult exposedSwaggerParseResult = new OpenAPIV3Parser().readLocation(config.getSwaggerUrl(), null, exposedSpecOptions.getParseOptions());
+            SwaggerParseResult exposedSwaggerParseResult = parseSpec(specContent, exposedSpecOptions.getParseOptions());
             exposedAPI = exposedSwaggerParseResult.getOpenAPI();
         }
         if (hideExtension) {
@@ -548,36 +630,47 @@ public class OpenAPIInflector extends ResourceConfig {
         return exposedAPI;
     }
 
-    // deserialize with swagger-core
-    private OpenAPI deserializeSpec(String swaggerUrl) {
-        OpenAPI exposedAPI = null;
-        String location = config.getSwaggerUrl().replaceAll("\\\\", "/");
+    private SwaggerParseResult parseSpec(String specContent, ParseOptions options) {
+        if (specContent == null) {
+            return new OpenAPIV3Parser().readLocation(config.getSwaggerUrl(), null, options);
+        }
+        return new OpenAPIV3Parser().readContents(specContent, null, options, config.getSwaggerUrl());
+    }
+
+    // read the raw spec, or null to let the parser read the location itself
+    private String readSpec(String swaggerUrl) {
+        String location = swaggerUrl.replaceAll("\\\\", "/");
         try {
-            String data = null;
             if (location.toLowerCase().startsWith("http")) {
-                data = RemoteUrl.urlToString(location, null);
+                return RemoteUrl.urlToString(location, null);
+            }
+            Path path;
+            if (location.toLowerCase().startsWith("file:")) {
+                path = Paths.get(URI.create(location));
             } else {
-                String fileScheme = "file:";
-                Path path;
-                if (location.toLowerCase().startsWith("file:")) {
-                    path = Paths.get(URI.create(location));
-                } else {
-                    path = Paths.get(location);
-                }
+                path = Paths.get(location);
+            }
 
-                if (Files.exists(path)) {
-                    data = FileUtils.readFileToString(path.toFile(), "UTF-8");
-                } else {
-                    data = ClasspathHelper.loadFileFromClasspath(location);
-                }
-                exposedAPI = getRightMapper(data).readValue(data, OpenAPI.class);
+            if (Files.exists(path)) {
+                return FileUtils.readFileToString(path.toFile(), "UTF-8");
             }
+            return ClasspathHelper.loadFileFromClasspath(location);
         } catch (SSLHandshakeException e) {
             LOGGER.error("unable to read location `{}` due to a SSL configuration error.  It is possible that the server SSL certificate is invalid, self-signed, or has an untrusted Certificate Authority.", location, e);
         } catch (Exception e1) {
-            LOGGER.error("unable to read location `{}`", location, e1);
+            LOGGER.debug("unable to read location `{}`, leaving it to the parser", location, e1);
         }
-        return exposedAPI;
+        return null;
+    }
+
+    // deserialize with swagger-core
+    private OpenAPI deserializeSpec(String data) {
+        try {
+            return getRightMapper(data).readValue(data, OpenAPI.class);
+        } catch (Exception e) {
+            LOGGER.error("unable to deserialize `{}`", config.getSwaggerUrl(), e);
+        }
+        return null;
     }
 
     private ObjectMapper getRightMapper(String data) {
@@ -591,4 +684,26 @@ public class OpenAPIInflector extends ResourceConfig {
         return mapper;
     }
 
+    private static final class OperationRegistration {
+        private final String path;
+        private final String method;
+        private final Operation operation;
+        private final List<String> mediaTypes = new ArrayList<>();
+        private final List<OpenAPIOperationController> controllers = new ArrayList<>();
+        private long buildNanos;
+
+        private OperationRegistration(String path, String method, Operation operation) {
+            this.path = path;
+            this.method = method;
+            this.operation = operation;
+        }
+
+        private void build(Configuration config, Map<String, Schema> definitions) {
+            long start = System.nanoTime();
+            for (String mediaType : mediaTypes) {
+                controllers.add(new OpenAPIOperationController(config, path, method, operation, mediaType, definitions));
+            }
+            buildNanos = System.nanoTime() - start;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.config;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Implemented by spec filters whose output only depends on the document and on the named request headers
+ * and cookies, which lets the filtered document be cached and served with an ETag. Filters that do not
+ * implement it are run on every request.
+ */
+public interface CacheableSpecFilter {
+
+    /**
+     * @return the names of the request headers the filter reads
+     */
+    default Set<String> getCacheKeyHeaders() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * @return the names of the cookies the filter reads
+     */
+    default Set<String> getCacheKeyCookies() {
+        return Collections.emptySet();
+    }
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.swagger.oas.inflector.converters.InputConverter;
+import io.swagger.oas.inflector.schema.SchemaValidator;
 import io.swagger.v3.core.util.Yaml;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -34,6 +35,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Configuration {
     private static final Logger LOGGER = LoggerFactory.getLogger(Configuration.class);
@@ -59,6 +67,24 @@ public class Configuration {
     private String swaggerBase = "/";
     private Set<Direction> validatePayloads = Collections.emptySet();
     private boolean prettyPrint;
+    private int startupParallelism = 1;
+    private int multipartMemoryThreshold = 10240;
+    private String multipartTempDirectory;
+    private int payloadValidationErrorLimit = SchemaValidator.NO_LIMIT;
+    private int payloadValidationLogLimit = 4096;
+    private int parallelArrayValidationThreshold = SchemaValidator.NO_LIMIT;
+    private int parallelArrayValidationThreads;
+    private ForkJoinPool parallelArrayValidationPool;
+    // whether the pool is the default one, which the configuration shuts down
+    private boolean defaultParallelArrayValidationPool;
+    private boolean asyncOutputValidation;
+    private double outputValidationSampleRate = 1;
+    private int outputValidationThreads = 1;
+    private int outputValidationQueueSize = 64;
+    private OutputValidationListener outputValidationListener;
+    private ExecutorService outputValidationExecutor;
+    // whether the executor is the default one, which the configuration shuts down
+    private boolean defaultOutputValidationExecutor;
 
     public String getSwaggerBase() {
         if("".equals(swaggerBase) || "/".equals(swaggerBase)) {
@@ -311,6 +337,11 @@ public class Configuration {
         this.exampleProcessors = exampleProcessors;
     }
 
+    /**
+     * How mock responses pick one of several named examples: {@code random}, {@code sequence}, {@code weighted}
+     * (following the {@code x-inflector-weight} extension of each example) or {@code sticky} (the same example
+     * for each client address). The first known mode is used.
+     */
     public List<String> getExampleProcessors() {
         return exampleProcessors;
     }
@@ -386,6 +417,296 @@ public class Configuration {
         this.validatePayloads = validatePayloads;
     }
 
+    /**
+     * Number of threads used to build the operation controllers at startup; 1 builds them on the calling
+     * thread, 0 or less uses one thread per available processor. The configured ControllerFactory is called
+     * concurrently when this is not 1.
+     */
+    public int getStartupParallelism() {
+        return startupParallelism;
+    }
+
+    public void setStartupParallelism(int startupParallelism) {
+        this.startupParallelism = startupParallelism;
+    }
+
+    public Configuration startupParallelism(int startupParallelism) {
+        this.startupParallelism = startupParallelism;
+        return this;
+    }
+
+    /**
+     * Number of bytes of a multipart part that are kept in memory; larger parts are written to a temporary
+     * file while the request is read.
+     */
+    public int getMultipartMemoryThreshold() {
+        return multipartMemoryThreshold;
+    }
+
+    public void setMultipartMemoryThreshold(int multipartMemoryThreshold) {
+        this.multipartMemoryThreshold = multipartMemoryThreshold;
+    }
+
+    public Configuration multipartMemoryThreshold(int multipartMemoryThreshold) {
+        this.multipartMemoryThreshold = multipartMemoryThreshold;
+        return this;
+    }
+
+    /**
+     * Directory for the temporary files of uploads, the system temp directory if not set. Each request gets a
+     * directory of its own in there, which is removed when the request has been handled.
+     */
+    public String getMultipartTempDirectory() {
+        return multipartTempDirectory;
+    }
+
+    public void setMultipartTempDirectory(String multipartTempDirectory) {
+        this.multipartTempDirectory = multipartTempDirectory;
+    }
+
+    public Configuration multipartTempDirectory(String multipartTempDirectory) {
+        this.multipartTempDirectory = multipartTempDirectory;
+        return this;
+    }
+
+    /**
+     * Number of schema errors after which validation of a payload stops; 1 stops at the first error, 0 or less
+     * finds all of them.
+     */
+    public int getPayloadValidationErrorLimit() {
+        return payloadValidationErrorLimit;
+    }
+
+    public void setPayloadValidationErrorLimit(int payloadValidationErrorLimit) {
+        this.payloadValidationErrorLimit = payloadValidationErrorLimit;
+    }
+
+    public Configuration payloadValidationErrorLimit(int payloadValidationErrorLimit) {
+        this.payloadValidationErrorLimit = payloadValidationErrorLimit;
+        return this;
+    }
+
+    /**
+     * Number of characters of an invalid payload, and of its schema, that are logged; 0 or less logs all of them.
+     */
+    public int getPayloadValidationLogLimit() {
+        return payloadValidationLogLimit;
+    }
+
+    public void setPayloadValidationLogLimit(int payloadValidationLogLimit) {
+        this.payloadValidationLogLimit = payloadValidationLogLimit;
+    }
+
+    public Configuration payloadValidationLogLimit(int payloadValidationLogLimit) {
+        this.payloadValidationLogLimit = payloadValidationLogLimit;
+        return this;
+    }
+
+    /**
+     * Number of items from which the items of an array payload are validated in parallel, against the schema of
+     * its items, on the {@link #getParallelArrayValidationPool()}; 0 or less validates all payloads on the request
+     * thread.
+     */
+    public int getParallelArrayValidationThreshold() {
+        return parallelArrayValidationThreshold;
+    }
+
+    public void setParallelArrayValidationThreshold(int parallelArrayValidationThreshold) {
+        this.parallelArrayValidationThreshold = parallelArrayValidationThreshold;
+    }
+
+    public Configuration parallelArrayValidationThreshold(int parallelArrayValidationThreshold) {
+        this.parallelArrayValidationThreshold = parallelArrayValidationThreshold;
+        return this;
+    }
+
+    /**
+     * Number of threads array items are validated on; 0 or less uses as many as there are processors.
+     */
+    public int getParallelArrayValidationThreads() {
+        return parallelArrayValidationThreads;
+    }
+
+    public void setParallelArrayValidationThreads(int parallelArrayValidationThreads) {
+        this.parallelArrayValidationThreads = parallelArrayValidationThreads;
+    }
+
+    public Configuration parallelArrayValidationThreads(int parallelArrayValidationThreads) {
+        this.parallelArrayValidationThreads = parallelArrayValidationThreads;
+        return this;
+    }
+
+    /**
+     * The pool the items of large arrays are validated on, by default of daemon threads, as many as
+     * {@link #getParallelArrayValidationThreads()}, created when first asked for and shut down with
+     * {@link #shutdownParallelArrayValidationPool()}.
+     */
+    @JsonIgnore
+    public synchronized ForkJoinPool getParallelArrayValidationPool() {
+        if (parallelArrayValidationPool == null) {
+            int threads = parallelArrayValidationThreads > 0 ? parallelArrayValidationThreads : Runtime.getRuntime().availableProcessors();
+            AtomicInteger count = new AtomicInteger();
+            parallelArrayValidationPool = new ForkJoinPool(threads, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("inflector-array-validation-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+            defaultParallelArrayValidationPool = true;
+        }
+        return parallelArrayValidationPool;
+    }
+
+    /**
+     * Sets the pool the items of large arrays are validated on; the caller owns it and shuts it down.
+     */
+    public synchronized void setParallelArrayValidationPool(ForkJoinPool parallelArrayValidationPool) {
+        this.parallelArrayValidationPool = parallelArrayValidationPool;
+        this.defaultParallelArrayValidationPool = false;
+    }
+
+    /**
+     * Shuts the default array validation pool down, if it was created. A pool that was set is left to its
+     * owner. The inflector calls this when its container shuts down.
+     */
+    public synchronized void shutdownParallelArrayValidationPool() {
+        if (defaultParallelArrayValidationPool) {
+            parallelArrayValidationPool.shutdown();
+            parallelArrayValidationPool = null;
+            defaultParallelArrayValidationPool = false;
+        }
+    }
+
+    /**
+     * Whether responses are validated on background threads, against a copy of the entity, rather than before
+     * they are sent. Invalid responses are then reported to the {@link OutputValidationListener} and logged, but
+     * still sent.
+     */
+    public boolean isAsyncOutputValidation() {
+        return asyncOutputValidation;
+    }
+
+    public void setAsyncOutputValidation(boolean asyncOutputValidation) {
+        this.asyncOutputValidation = asyncOutputValidation;
+    }
+
+    public Configuration asyncOutputValidation(boolean asyncOutputValidation) {
+        this.asyncOutputValidation = asyncOutputValidation;
+        return this;
+    }
+
+    /**
+     * Share of the responses that are validated, from 0 to 1; an operation can set its own with the
+     * {@code x-inflector-output-sample-rate} extension.
+     */
+    public double getOutputValidationSampleRate() {
+        return outputValidationSampleRate;
+    }
+
+    public void setOutputValidationSampleRate(double outputValidationSampleRate) {
+        this.outputValidationSampleRate = outputValidationSampleRate;
+    }
+
+    public Configuration outputValidationSampleRate(double outputValidationSampleRate) {
+        this.outputValidationSampleRate = outputValidationSampleRate;
+        return this;
+    }
+
+    /**
+     * Number of threads validating responses asynchronously.
+     */
+    public int getOutputValidationThreads() {
+        return outputValidationThreads;
+    }
+
+    public void setOutputValidationThreads(int outputValidationThreads) {
+        this.outputValidationThreads = outputValidationThreads;
+    }
+
+    public Configuration outputValidationThreads(int outputValidationThreads) {
+        this.outputValidationThreads = outputValidationThreads;
+        return this;
+    }
+
+    /**
+     * Number of responses waiting for asynchronous validation; responses sampled while it is full are not
+     * validated.
+     */
+    public int getOutputValidationQueueSize() {
+        return outputValidationQueueSize;
+    }
+
+    public void setOutputValidationQueueSize(int outputValidationQueueSize) {
+        this.outputValidationQueueSize = outputValidationQueueSize;
+    }
+
+    public Configuration outputValidationQueueSize(int outputValidationQueueSize) {
+        this.outputValidationQueueSize = outputValidationQueueSize;
+        return this;
+    }
+
+    @JsonIgnore
+    public OutputValidationListener getOutputValidationListener() {
+        return outputValidationListener;
+    }
+
+    public void setOutputValidationListener(OutputValidationListener outputValidationListener) {
+        this.outputValidationListener = outputValidationListener;
+    }
+
+    public void setOutputValidationListenerClass(String outputValidationListenerClass) {
+        if (!StringUtils.isEmpty(outputValidationListenerClass)) {
+            try {
+                outputValidationListener = Class.forName(outputValidationListenerClass)
+                        .asSubclass(OutputValidationListener.class).newInstance();
+            } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+                LOGGER.error("Couldn't create output validation listener", e);
+            }
+        }
+    }
+
+    /**
+     * The executor of asynchronous output validation, by default daemon threads with a queue of
+     * {@link #getOutputValidationQueueSize()}, created when first asked for and shut down with
+     * {@link #shutdownOutputValidationExecutor()}.
+     */
+    @JsonIgnore
+    public synchronized ExecutorService getOutputValidationExecutor() {
+        if (outputValidationExecutor == null) {
+            AtomicInteger count = new AtomicInteger();
+            outputValidationExecutor = new ThreadPoolExecutor(outputValidationThreads, outputValidationThreads,
+                    0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(Math.max(1, outputValidationQueueSize)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "inflector-output-validation-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            defaultOutputValidationExecutor = true;
+        }
+        return outputValidationExecutor;
+    }
+
+    /**
+     * Sets the executor of asynchronous output validation; the caller owns it and shuts it down.
+     */
+    public synchronized void setOutputValidationExecutor(ExecutorService outputValidationExecutor) {
+        this.outputValidationExecutor = outputValidationExecutor;
+        this.defaultOutputValidationExecutor = false;
+    }
+
+    /**
+     * Shuts the default output validation executor down, if it was created, letting the queued validations
+     * finish. An executor that was set is left to its owner. The inflector calls this when its container shuts
+     * down.
+     */
+    public synchronized void shutdownOutputValidationExecutor() {
+        if (defaultOutputValidationExecutor) {
+            outputValidationExecutor.shutdown();
+            outputValidationExecutor = null;
+            defaultOutputValidationExecutor = false;
+        }
+    }
+
     public String getControllerFactoryClass() {
         return controllerFactory.getClass().getName();
     }
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.Operation;
+
+/**
+ * Told about the outcome of asynchronous output validation - provide your implementation to the Configuration
+ * class to count contract drift in your metrics.
+ */
+public interface OutputValidationListener {
+
+    /**
+     * A response doesn't match its schema. Called on the validation threads.
+     *
+     * @param operation the operation that responded
+     * @param responseCode the status code of the response
+     * @param response a copy of the response entity, as it was validated
+     */
+    void invalidResponse(Operation operation, String responseCode, JsonNode response);
+
+    /**
+     * A sampled response wasn't validated, as the validation threads were busy. Called on the request thread,
+     * so it should return quickly.
+     *
+     * @param operation the operation that responded
+     */
+    default void dropped(Operation operation) {
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.controllers;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared lookups for matching operations to controller methods while the inflector starts: controller
+ * classes by name, including names that did not resolve, and the public methods of each class by name
+ * and number of arguments. {@link #clear()} drops everything once startup is done.
+ */
+public final class ControllerClassIndex {
+    private static final Object MISSING = new Object();
+    private static final ConcurrentMap<String, Object> CLASSES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, Map<String, List<Method>>> METHODS = new ConcurrentHashMap<>();
+
+    private ControllerClassIndex() {
+    }
+
+    /**
+     * @return the class, or null if it cannot be loaded
+     */
+    static Class<?> findClass(String name) {
+        Object cls = CLASSES.computeIfAbsent(name, ControllerClassIndex::load);
+        return cls == MISSING ? null : (Class<?>) cls;
+    }
+
+    /**
+     * @return the public methods of the class with that name and number of arguments, in the order of
+     * {@link Class#getMethods()}
+     */
+    static List<Method> getMethods(Class<?> cls, String name, int arity) {
+        List<Method> methods = METHODS.computeIfAbsent(cls, ControllerClassIndex::index).get(key(name, arity));
+        return methods == null ? Collections.<Method>emptyList() : methods;
+    }
+
+    public static void clear() {
+        CLASSES.clear();
+        METHODS.clear();
+    }
+
+    private static Object load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return MISSING;
+        }
+    }
+
+    private static Map<String, List<Method>> index(Class<?> cls) {
+        Map<String, List<Method>> index = new HashMap<>();
+        for (Method method : cls.getMethods()) {
+            index.computeIfAbsent(key(method.getName(), method.getParameterCount()), k -> new ArrayList<>(1)).add(method);
+        }
+        return index;
+    }
+
+    private static String key(String name, int arity) {
+        return name + '/' + arity;
+    }
+}
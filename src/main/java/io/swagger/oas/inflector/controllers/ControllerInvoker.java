@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.controllers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * Calls a controller method without going through {@link Method#invoke(Object, Object...)} per request.
+ * Instance methods with up to {@value #MAX_LAMBDA_ARITY} reference-typed arguments are bound through
+ * {@link LambdaMetafactory}, which the JIT can inline like a direct call; other methods use a spread
+ * {@link MethodHandle}, and reflection is only used when neither can be linked. Failures are reported
+ * like reflective calls, wrapped in an {@link InvocationTargetException}.
+ */
+final class ControllerInvoker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ControllerInvoker.class);
+    private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final int MAX_LAMBDA_ARITY = 6;
+    private static final Class<?>[] CALL_TYPES = {
+            Call1.class, Call2.class, Call3.class, Call4.class, Call5.class, Call6.class
+    };
+
+    private final Object controller;
+    private final Method method;
+    private final Invocation invocation;
+
+    private ControllerInvoker(Object controller, Method method, Invocation invocation) {
+        this.controller = controller;
+        this.method = method;
+        this.invocation = invocation;
+    }
+
+    static ControllerInvoker of(Object controller, Method method) {
+        Invocation invocation = null;
+        try {
+            invocation = lambda(controller, method);
+            if (invocation == null) {
+                invocation = spread(controller, method);
+            }
+        } catch (Throwable t) {
+            LOGGER.debug("falling back to reflection to call " + method, t);
+        }
+        return new ControllerInvoker(controller, method, invocation);
+    }
+
+    Object invoke(Object[] args) throws IllegalAccessException, InvocationTargetException {
+        if (invocation == null) {
+            return method.invoke(controller, args);
+        }
+        try {
+            return invocation.invoke(args);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    private static Invocation spread(Object controller, Method method) throws IllegalAccessException {
+        MethodHandle target = MethodHandles.publicLookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            target = target.bindTo(controller);
+        }
+        final MethodHandle handle = target.asSpreader(Object[].class, method.getParameterCount()).asType(SPREAD_TYPE);
+        return args -> (Object) handle.invokeExact(args);
+    }
+
+    private static Invocation lambda(final Object controller, Method method) throws Throwable {
+        int arity = method.getParameterCount();
+        if (arity < 1 || arity > MAX_LAMBDA_ARITY || !canLinkLambda(method)) {
+            return null;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle impl = lookup.unreflect(method);
+        Class<?>[] erased = new Class<?>[arity + 1];
+        Arrays.fill(erased, Object.class);
+        Class<?> callType = CALL_TYPES[arity - 1];
+        CallSite site = LambdaMetafactory.metafactory(lookup, "call", MethodType.methodType(callType),
+                MethodType.methodType(Object.class, erased), impl, impl.type());
+        Object call = site.getTarget().invoke();
+        switch (arity) {
+            case 1:
+                return args -> ((Call1) call).call(controller, args[0]);
+            case 2:
+                return args -> ((Call2) call).call(controller, args[0], args[1]);
+            case 3:
+                return args -> ((Call3) call).call(controller, args[0], args[1], args[2]);
+            case 4:
+                return args -> ((Call4) call).call(controller, args[0], args[1], args[2], args[3]);
+            case 5:
+                return args -> ((Call5) call).call(controller, args[0], args[1], args[2], args[3], args[4]);
+            default:
+                return args -> ((Call6) call).call(controller, args[0], args[1], args[2], args[3], args[4], args[5]);
+        }
+    }
+
+    /**
+     * The generated lambda class links against the controller from this class' loader, so the controller
+     * has to be public, visible from here, and free of primitive types that would need adapting.
+     */
+    private static boolean canLinkLambda(Method method) {
+        Class<?> type = method.getDeclaringClass();
+        if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(type.getModifiers())
+                || method.getReturnType().isPrimitive()) {
+            return false;
+        }
+        for (Class<?> parameter : method.getParameterTypes()) {
+            if (parameter.isPrimitive()) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(type.getName(), false, ControllerInvoker.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private interface Invocation {
+        Object invoke(Object[] args) throws Throwable;
+    }
+
+    interface Call1 {
+        Object call(Object c, Object a0);
+    }
+
+    interface Call2 {
+        Object call(Object c, Object a0, Object a1);
+    }
+
+    interface Call3 {
+        Object call(Object c, Object a0, Object a1, Object a2);
+    }
+
+    interface Call4 {
+        Object call(Object c, Object a0, Object a1, Object a2, Object a3);
+    }
+
+    interface Call5 {
+        Object call(Object c, Object a0, Object a1, Object a2, Object a3, Object a4);
+    }
+
+    interface Call6 {
+        Object call(Object c, Object a0, Object a1, Object a2, Object a3, Object a4, Object a5);
+    }
+}
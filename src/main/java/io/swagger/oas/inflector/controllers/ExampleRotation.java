@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.models.RequestContext;
+import io.swagger.v3.oas.models.examples.Example;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a mock response picks one of several named examples, as configured in
+ * {@code Configuration.exampleProcessors}.
+ */
+enum ExampleRotation {
+    /**
+     * Any example, with the same chance for each.
+     */
+    RANDOM("random") {
+        @Override
+        int select(ExampleSet examples, RequestContext request) {
+            return ThreadLocalRandom.current().nextInt(examples.size());
+        }
+    },
+    /**
+     * One example after the other, starting over after the last one.
+     */
+    SEQUENCE("sequence") {
+        @Override
+        int select(ExampleSet examples, RequestContext request) {
+            return examples.nextInSequence();
+        }
+    },
+    /**
+     * Any example, with a chance following its {@code x-inflector-weight} extension; examples without it weigh 1.
+     */
+    WEIGHTED("weighted") {
+        @Override
+        int select(ExampleSet examples, RequestContext request) {
+            return examples.atWeight(ThreadLocalRandom.current().nextDouble(examples.totalWeight()));
+        }
+    },
+    /**
+     * The same example for every request from the same client address.
+     */
+    STICKY("sticky") {
+        @Override
+        int select(ExampleSet examples, RequestContext request) {
+            String client = request.getRemoteAddr();
+            if (client == null) {
+                return 0;
+            }
+            int hash = client.hashCode();
+            // spread the bits, addresses of one network differ in the last characters only
+            hash ^= hash >>> 16;
+            hash *= 0x45d9f3b;
+            hash ^= hash >>> 16;
+            return Math.floorMod(hash, examples.size());
+        }
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExampleRotation.class);
+
+    private final String mode;
+
+    ExampleRotation(String mode) {
+        this.mode = mode;
+    }
+
+    abstract int select(ExampleSet examples, RequestContext request);
+
+    Example next(ExampleSet examples, RequestContext request) {
+        return examples.get(select(examples, request));
+    }
+
+    /**
+     * @return the rotation of the first known mode, or null if there is none
+     */
+    static ExampleRotation of(List<String> modes) {
+        if (modes == null) {
+            return null;
+        }
+        for (String mode : modes) {
+            for (ExampleRotation rotation : values()) {
+                if (rotation.mode.equals(mode)) {
+                    return rotation;
+                }
+            }
+            LOGGER.warn("unknown example processor `" + mode + "`");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.Constants;
+import io.swagger.v3.oas.models.examples.Example;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The named examples of one media type of a response, in declaration order, with what {@link ExampleRotation}
+ * needs to pick one: the running total of their weights and the position of the sequence.
+ */
+final class ExampleSet {
+    private final Example[] examples;
+    private final double[] cumulativeWeights;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private ExampleSet(Example[] examples, double[] cumulativeWeights) {
+        this.examples = examples;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * @return the set, or null if there are no examples
+     */
+    static ExampleSet of(Map<String, Example> examples) {
+        if (examples == null || examples.isEmpty()) {
+            return null;
+        }
+        Example[] values = examples.values().toArray(new Example[0]);
+        double[] cumulativeWeights = new double[values.length];
+        double total = 0;
+        for (int i = 0; i < values.length; i++) {
+            total += weight(values[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            // without usable weights every example counts the same
+            for (int i = 0; i < values.length; i++) {
+                cumulativeWeights[i] = i + 1;
+            }
+        }
+        return new ExampleSet(values, cumulativeWeights);
+    }
+
+    int size() {
+        return examples.length;
+    }
+
+    Example get(int index) {
+        return examples[index];
+    }
+
+    /**
+     * @return the index of the next example in the sequence, starting over after the last one
+     */
+    int nextInSequence() {
+        return Math.floorMod(sequence.getAndIncrement(), examples.length);
+    }
+
+    /**
+     * @param point a value from zero to the total weight, exclusive
+     * @return the index of the example whose share of the total weight contains the point
+     */
+    int atWeight(double point) {
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (point < cumulativeWeights[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    double totalWeight() {
+        return cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    private static double weight(Example example) {
+        Object weight = example == null || example.getExtensions() == null
+                ? null : example.getExtensions().get(Constants.X_INFLECTOR_EXAMPLE_WEIGHT);
+        if (weight == null) {
+            return 1;
+        }
+        try {
+            double value = weight instanceof Number ? ((Number) weight).doubleValue() : Double.parseDouble(weight.toString());
+            return value > 0 && !Double.isInfinite(value) ? value : 0;
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.examples.ExampleBuilder;
+import io.swagger.oas.inflector.examples.models.ArrayExample;
+import io.swagger.oas.inflector.examples.models.Example;
+import io.swagger.oas.inflector.examples.models.ObjectExample;
+import io.swagger.oas.inflector.processors.SerializedExampleCache;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The mock response of an operation without a controller method: the status and response chosen from the
+ * operation's responses, the header values, and the example built for each media type of the response
+ * content. Examples are built the first time a media type is asked for and reused afterwards, so their
+ * serialized bodies are cached as well.
+ */
+final class MockResponse {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MockResponse.class);
+    private static final Object NO_EXAMPLE = new Object();
+
+    private final int status;
+    private final ApiResponse response;
+    private final Map<String, Object> headers;
+    private final Map<String, Schema> definitions;
+    private final ConcurrentMap<String, Object> examples = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> namedExamples = new ConcurrentHashMap<>();
+
+    private MockResponse(int status, ApiResponse response, Map<String, Object> headers, Map<String, Schema> definitions) {
+        this.status = status;
+        this.response = response;
+        this.headers = headers;
+        this.definitions = definitions;
+    }
+
+    /**
+     * Picks the first 2xx response, then `default`, then the last 3xx response.
+     *
+     * @return the mock response, or null if the operation declares none of those
+     */
+    static MockResponse of(Operation operation, Map<String, Schema> definitions) {
+        Map<String, ApiResponse> responses = operation.getResponses();
+        if (responses == null) {
+            return null;
+        }
+        String[] keys = new String[responses.keySet().size()];
+        Arrays.sort(responses.keySet().toArray(keys));
+        int code = 0;
+        String defaultKey = null;
+        for (String key : keys) {
+            if (key.startsWith("2")) {
+                defaultKey = key;
+                code = Integer.parseInt(key);
+                break;
+            }
+            if ("default".equals(key)) {
+                defaultKey = key;
+                code = 200;
+                break;
+            }
+            if (key.startsWith("3")) {
+                // we use the 3xx responses as defaults
+                defaultKey = key;
+                code = Integer.parseInt(key);
+            }
+        }
+        if (defaultKey == null) {
+            LOGGER.debug("no response type to map to, assume 200");
+            return null;
+        }
+        ApiResponse response = responses.get(defaultKey);
+        return new MockResponse(code, response, buildHeaders(response, definitions), definitions);
+    }
+
+    private static Map<String, Object> buildHeaders(ApiResponse response, Map<String, Schema> definitions) {
+        if (response.getHeaders() == null || response.getHeaders().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, Header> entry : response.getHeaders().entrySet()) {
+            Header headerProperty = entry.getValue();
+            if (headerProperty.getSchema() != null) {
+                Object output = ExampleBuilder.fromSchema(headerProperty.getSchema(), definitions);
+                if (output instanceof ArrayExample) {
+                    output = ((ArrayExample) output).asString();
+                } else if (output instanceof ObjectExample) {
+                    LOGGER.debug("not serializing output example, only primitives or arrays of primitives are supported");
+                } else if (output != null) {
+                    output = ((Example) output).asString();
+                }
+                headers.put(entry.getKey(), output);
+            }
+        }
+        return Collections.unmodifiableMap(headers);
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    ApiResponse getResponse() {
+        return response;
+    }
+
+    Map<String, Object> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @param mediaType a key of the response content
+     * @return the example for the schema of that media type, or null if none can be built
+     */
+    Example getExample(String mediaType) {
+        SerializedExampleCache example = getSerializedExample(mediaType);
+        return example == null ? null : example.getExample();
+    }
+
+    /**
+     * @param mediaType a key of the response content
+     * @return the example for the schema of that media type with its serialized bodies, or null if none can be
+     * built
+     */
+    SerializedExampleCache getSerializedExample(String mediaType) {
+        Object example = examples.computeIfAbsent(mediaType, this::buildExample);
+        return example == NO_EXAMPLE ? null : (SerializedExampleCache) example;
+    }
+
+    /**
+     * @param mediaType a key of the response content
+     * @return the named examples declared for that media type, or null if there are none
+     */
+    ExampleSet getNamedExamples(String mediaType) {
+        Object examples = namedExamples.computeIfAbsent(mediaType, key -> {
+            MediaType content = response.getContent() == null ? null : response.getContent().get(key);
+            ExampleSet set = content == null ? null : ExampleSet.of(content.getExamples());
+            return set == null ? NO_EXAMPLE : set;
+        });
+        return examples == NO_EXAMPLE ? null : (ExampleSet) examples;
+    }
+
+    private Object buildExample(String mediaType) {
+        MediaType content = response.getContent() == null ? null : response.getContent().get(mediaType);
+        Example example = content == null ? null : ExampleBuilder.fromSchema(content.getSchema(), definitions);
+        return example == null ? NO_EXAMPLE : new SerializedExampleCache(example);
+    }
+}
@@ -17,20 +17,21 @@
 package io.swagger.oas.inflector.controllers;
 
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.oas.inflector.Constants;
 import io.swagger.oas.inflector.config.Configuration;
 import io.swagger.oas.inflector.config.ControllerFactory;
+import io.swagger.oas.inflector.config.OutputValidationListener;
 import io.swagger.oas.inflector.converters.ConversionException;
 import io.swagger.oas.inflector.converters.InputConverter;
-import io.swagger.oas.inflector.examples.ExampleBuilder;
-import io.swagger.oas.inflector.examples.models.ArrayExample;
-import io.swagger.oas.inflector.examples.models.Example;
-import io.swagger.oas.inflector.examples.models.ObjectExample;
 import io.swagger.oas.inflector.models.ApiError;
 import io.swagger.oas.inflector.models.RequestContext;
 import io.swagger.oas.inflector.models.ResponseContext;
-import io.swagger.oas.inflector.processors.EntityProcessor;
 import io.swagger.oas.inflector.processors.EntityProcessorFactory;
+import io.swagger.oas.inflector.processors.FormFields;
+import io.swagger.oas.inflector.processors.SerializedExampleCache;
+import io.swagger.oas.inflector.processors.TemporaryFiles;
+import io.swagger.oas.inflector.processors.TemporaryFilesCleanup;
 import io.swagger.oas.inflector.schema.SchemaValidator;
 import io.swagger.oas.inflector.utils.ApiErrorUtils;
 import io.swagger.oas.inflector.utils.ApiException;
@@ -39,10 +40,8 @@ import io.swagger.oas.inflector.utils.ReflectionUtils;
 import io.swagger.oas.inflector.validators.ValidationException;
 import io.swagger.oas.inflector.validators.ValidationMessage;
 import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.headers.Header;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.Schema;
-import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
@@ -57,6 +56,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.NewCookie;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
@@ -69,20 +69,24 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 
 
 public class OpenAPIOperationController extends ReflectionUtils implements Inflector<ContainerRequestContext, Response> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenAPIOperationController.class);
-    private static final String RANDOM_EXAMPLE =  "random";
-    private static final String SEQUENCIAL_EXAMPLE =  "sequence";
-    private int sequence = 0;
+    private static final int MAX_NEGOTIATED_ACCEPTS = 64;
 
     private static Set<String> commonHeaders = new HashSet<String>();
 
@@ -99,12 +103,31 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
     private Operation operation;
     private Object controller = null;
     private Method method = null;
+    private ControllerInvoker invoker = null;
     private JavaType[] parameterClasses = null;
+    private ParameterBinder[] parameterBinders = new ParameterBinder[0];
+    private Set<String> queryParameterNames = Collections.emptySet();
+    private Set<String> pathParameterNames = Collections.emptySet();
+    private FormFields formFields;
+    private ValidationMessage missingBody;
     private Map<String, Schema> definitions;
     private InputConverter validator;
     private String controllerName;
     private String methodName;
     private String operationSignature;
+    private String operationKey;
+    private Map<Schema, com.networknt.schema.Schema> validationSchemas = Collections.emptyMap();
+    private volatile MockResponse mockResponse;
+    private ExampleRotation exampleRotation;
+    private double outputSampleRate;
+    // where the items of large payload arrays are validated, null to validate them on the request thread
+    private ForkJoinPool parallelArrayPool;
+    private List<MediaType> responseContentTypes = Collections.emptyList();
+    private Map<String, MediaType> contentTypesByKey = Collections.emptyMap();
+    // the response content type when anything is acceptable, null if none is declared
+    private MediaType wildcardContentType;
+    // per Accept header, up to MAX_NEGOTIATED_ACCEPTS of them, the rest are negotiated on each request
+    private final Map<String, MediaType> negotiatedContentTypes = new ConcurrentHashMap<>();
 
     @Inject
     private Provider<Providers> providersProvider;
@@ -121,10 +144,43 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
         this.operation = operation;
         this.definitions = definitions;
         this.validator = InputConverter.getInstance();
+        this.operationKey = httpMethod + " " + path;
         this.method = detectMethod(operation, mediaType);
+        if (MediaType.APPLICATION_FORM_URLENCODED.equals(mediaType)) {
+            formFields = FormFields.compile(operation, mediaType, parameterClasses);
+        }
+        if (operation.getRequestBody() != null) {
+            missingBody = new ValidationMessage()
+                    .message("The input body `" + operation.getRequestBody() + "` is required")
+                    .unmodifiable();
+        }
         if (method == null) {
             LOGGER.debug("no method `" + methodName + "` in `" + controllerName + "` to map to, using mock response");
         }
+        if (!config.getValidatePayloads().isEmpty()) {
+            compileValidationSchemas();
+        }
+        compileResponseContentTypes();
+        exampleRotation = ExampleRotation.of(config.getExampleProcessors());
+        outputSampleRate = outputSampleRate(operation, config.getOutputValidationSampleRate());
+        if (config.getParallelArrayValidationThreshold() > SchemaValidator.NO_LIMIT && !config.getValidatePayloads().isEmpty()) {
+            parallelArrayPool = config.getParallelArrayValidationPool();
+        }
+    }
+
+    private static double outputSampleRate(Operation operation, double defaultRate) {
+        Object rate = operation.getExtensions() != null ? operation.getExtensions().get(Constants.X_INFLECTOR_OUTPUT_SAMPLE_RATE) : null;
+        if (rate instanceof Number) {
+            return ((Number) rate).doubleValue();
+        }
+        if (rate != null) {
+            try {
+                return Double.parseDouble(rate.toString());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("invalid " + Constants.X_INFLECTOR_OUTPUT_SAMPLE_RATE + " `" + rate + "` of " + operation.getOperationId());
+            }
+        }
+        return defaultRate;
     }
 
     // Used for unit testing only
@@ -157,6 +213,13 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
         return validator;
     }
 
+    /**
+     * @return the form fields of an {@code application/x-www-form-urlencoded} body, or null for other media types
+     */
+    public FormFields getFormFields() {
+        return formFields;
+    }
+
     public Method detectMethod(Operation operation, String mediaType) {
         controllerName = getControllerName(operation);
         methodName = getMethodName(path, httpMethod, operation);
@@ -167,48 +230,84 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
         LOGGER.info("looking for method: `" + operationSignature + "` in class `" + controllerName + "`");
         parameterClasses = args;
 
-        return matchBuildMethodToImplemented(args);
+        Method method = matchBuildMethodToImplemented(args);
+        compileParameterBinders();
+        return method;
+    }
+
+    private void compileParameterBinders() {
+        parameterBinders = ParameterBinder.compile(operation.getParameters(), parameterClasses, validator);
+        Set<String> queryNames = new HashSet<>();
+        Set<String> pathNames = new HashSet<>();
+        for (ParameterBinder binder : parameterBinders) {
+            if (ParameterBinder.Source.QUERY.equals(binder.getSource())) {
+                queryNames.add(binder.getName());
+            } else if (ParameterBinder.Source.PATH.equals(binder.getSource())) {
+                pathNames.add(binder.getName());
+            }
+        }
+        queryParameterNames = Collections.unmodifiableSet(queryNames);
+        pathParameterNames = Collections.unmodifiableSet(pathNames);
+    }
+
+    private void compileResponseContentTypes() {
+        responseContentTypes = Collections.unmodifiableList(parseResponseContentTypes(operation));
+        Map<String, MediaType> byKey = new HashMap<>();
+        if (operation.getResponses() != null) {
+            for (ApiResponse response : operation.getResponses().values()) {
+                if (response.getContent() != null) {
+                    for (String key : response.getContent().keySet()) {
+                        byKey.put(key, MediaType.valueOf(key));
+                    }
+                }
+            }
+        }
+        contentTypesByKey = Collections.unmodifiableMap(byKey);
+        wildcardContentType = null;
+        for (MediaType type : responseContentTypes) {
+            if (!MediaType.WILDCARD_TYPE.equals(type)) {
+                wildcardContentType = type;
+                break;
+            }
+        }
     }
 
     private Method matchBuildMethodToImplemented(JavaType[] args) {
 
         if (controllerName != null && methodName != null) {
             try {
-                Class<?> cls;
-                try {
-                    cls = Class.forName(controllerName);
-                } catch (ClassNotFoundException e) {
+                Class<?> cls = ControllerClassIndex.findClass(controllerName);
+                if (cls == null) {
                     controllerName = controllerName + "Controller";
-                    cls = Class.forName(controllerName);
+                    cls = ControllerClassIndex.findClass(controllerName);
+                }
+                if (cls == null) {
+                    throw new ClassNotFoundException(controllerName);
                 }
 
-                Method[] methods = cls.getMethods();
-                for (Method method : methods) {
-                    if (methodName.equals(method.getName())) {
-                        Class<?>[] methodArgs = method.getParameterTypes();
-                        if (methodArgs.length == args.length) {
-                            boolean matched = true;
-                            for (int i = 0; i < methodArgs.length; i++) {
-                                if (!args[i].getRawClass().equals(methodArgs[i])) {
-                                    //validate if its InputStream and change it to the implemented method in Controller
-                                    if (args[i].getRawClass().equals(InputStream.class)){
-                                        args[i] = updateArgumentClass(methodArgs[i]);
-                                    }else {
-                                        LOGGER.debug("failed to match " + args[i] + ", " + methodArgs[i]);
-                                        matched = false;
-                                    }
-                                }
-                            }
-                            if (matched) {
-                                parameterClasses = args;
-                                controller = getControllerFactory().instantiateController(cls, operation);
-                                LOGGER.debug("found class `" + controllerName + "`");
-                                //update operationSignature
-                                buildOperationSignature(args);
-                                return method;
+                for (Method method : ControllerClassIndex.getMethods(cls, methodName, args.length)) {
+                    Class<?>[] methodArgs = method.getParameterTypes();
+                    boolean matched = true;
+                    for (int i = 0; i < methodArgs.length; i++) {
+                        if (!args[i].getRawClass().equals(methodArgs[i])) {
+                            //validate if its InputStream and change it to the implemented method in Controller
+                            if (args[i].getRawClass().equals(InputStream.class)){
+                                args[i] = updateArgumentClass(methodArgs[i]);
+                            }else {
+                                LOGGER.debug("failed to match " + args[i] + ", " + methodArgs[i]);
+                                matched = false;
                             }
                         }
                     }
+                    if (matched) {
+                        parameterClasses = args;
+                        controller = getControllerFactory().instantiateController(cls, operation);
+                        invoker = ControllerInvoker.of(controller, method);
+                        LOGGER.debug("found class `" + controllerName + "`");
+                        //update operationSignature
+                        buildOperationSignature(args);
+                        return method;
+                    }
                 }
             } catch (ClassNotFoundException e) {
                 LOGGER.debug("didn't find class " + controller);
@@ -254,11 +353,16 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
 
     @Override
     public Response apply(ContainerRequestContext ctx) {
-        List<Parameter> parameters = operation.getParameters();
+        TemporaryFiles temporaryFiles = new TemporaryFiles(config.getMultipartTempDirectory() != null
+                ? new File(config.getMultipartTempDirectory()) : null);
+        // the response may still stream from the files, they go once it has been written
+        TemporaryFilesCleanup.register(ctx, temporaryFiles);
+        return apply(ctx, temporaryFiles);
+    }
 
+    private Response apply(ContainerRequestContext ctx, TemporaryFiles temporaryFiles) {
         final RequestContext requestContext = createContext(ctx);
         requestContext.setOperation(operation);
-        Map<String, File> inputStreams = new HashMap<>();
 
         Object[] args = new Object[parameterClasses.length];
 
@@ -269,53 +373,25 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
         i += 1;
         List<ValidationMessage> missingParams = new ArrayList<>();
         UriInfo uri = ctx.getUriInfo();
-        Set<String> existingKeys = new HashSet<>();
-
-        for (Iterator<String> x = uri.getQueryParameters().keySet().iterator(); x.hasNext(); ) {
-            existingKeys.add(x.next() + ": qp");
-        }
-        for (Iterator<String> x = uri.getPathParameters().keySet().iterator(); x.hasNext(); ) {
-            existingKeys.add(x.next() + ": pp");
-        }
-
+        MultivaluedMap<String, String> queryParameters = uri.getQueryParameters();
+        MultivaluedMap<String, String> pathParameters = uri.getPathParameters();
 
         MediaType mediaType = requestContext.getMediaType();
         Object argument = null;
 
-        if (parameters != null && parameters.size() > 0) {
-            for (Parameter parameter : parameters) {
-                String in = parameter.getIn();
-                try {
-                    try {
-                        String paramName = parameter.getName();
-                        if ("query".equals(in)) {
-                            existingKeys.remove(paramName + ": qp");
-                        }
-                        if ("path".equals(in)) {
-                            existingKeys.remove(paramName + ": pp");
-                        }
-                        JavaType jt = parameterClasses[i];
-                        Class<?> cls = jt.getRawClass();
-                        if ("query".equals(in)) {
-                            argument = validator.convertAndValidate(uri.getQueryParameters().get(parameter.getName()), parameter, cls, definitions);
-                        } else if ("path".equals(in)) {
-                            argument = validator.convertAndValidate(uri.getPathParameters().get(parameter.getName()), parameter, cls, definitions);
-                        } else if ("header".equals(in)) {
-                            argument = validator.convertAndValidate(ctx.getHeaders().get(parameter.getName()), parameter, cls, definitions);
-                        }
-                    } catch (ConversionException e) {
-                        missingParams.add(e.getError());
-                    } catch (ValidationException e) {
-                        missingParams.add(e.getValidationMessage());
-                    }
-
-                } catch (NumberFormatException e) {
-                    LOGGER.error("Couldn't find " + parameter.getName() + " (" + in + ") to " + parameterClasses[i], e);
-                }
-
-                args[i] = argument;
-                i += 1;
+        for (ParameterBinder binder : parameterBinders) {
+            argument = null;
+            try {
+                argument = binder.bind(ctx, queryParameters, pathParameters, definitions);
+            } catch (ConversionException e) {
+                missingParams.add(e.getError());
+            } catch (ValidationException e) {
+                missingParams.add(e.getValidationMessage());
+            } catch (NumberFormatException e) {
+                LOGGER.error("Couldn't find " + binder.getName() + " (" + binder.getParameter().getIn() + ") to " + binder.getType(), e);
             }
+            args[binder.getIndex()] = argument;
+            i += 1;
         }
 
         if (operation.getRequestBody() != null) {
@@ -328,7 +404,7 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
                     cls  = jt.getRawClass();
                 }
                 try {
-                    argument = EntityProcessorFactory.readValue(mediaType, ctx.getEntityStream(), cls,this);
+                    argument = EntityProcessorFactory.readValue(mediaType, ctx.getEntityStream(), cls, this, temporaryFiles);
 
                     if (argument != null) {
                         if (mediaType.isCompatible(MediaType.APPLICATION_FORM_URLENCODED_TYPE) ||
@@ -374,34 +450,21 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
                             }
                         }
                     } else if (operation.getRequestBody().getRequired()) {
-                        ValidationException e = new ValidationException();
-                        e.message(new ValidationMessage()
+                        missingParams.add(new ValidationMessage()
                                 .message("The input body `" + operation.getRequestBody() + "` is required but was provided with an unsupported media type `" + 
                                             mediaType + "`"));
-                        try {
-                            throw e;
-                        } catch (ValidationException e1) {
-                            missingParams.add(e.getValidationMessage());
-                        }
                     }
                 } catch (ConversionException e) {
                     missingParams.add(e.getError());
                 }
 
             } else if (Boolean.TRUE.equals(operation.getRequestBody().getRequired())) {
-                ValidationException e = new ValidationException();
-                e.message(new ValidationMessage()
-                        .message("The input body `" + operation.getRequestBody() + "` is required"));
-                try {
-                    throw e;
-                } catch (ValidationException e1) {
-                    missingParams.add(e.getValidationMessage());
-                }
+                missingParams.add(missingBody);
             }
         }
 
-        if (existingKeys.size() > 0) {
-            LOGGER.debug("unexpected keys: " + existingKeys);
+        if (LOGGER.isDebugEnabled()) {
+            logUnexpectedKeys(queryParameters, pathParameters);
         }
         if (missingParams.size() > 0) {
             StringBuilder builder = new StringBuilder();
@@ -426,301 +489,251 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
             ApiError error = new ApiError()
                     .code(statusCode)
                     .message(builder.toString());
-            throw new ApiException(error);
+            throw ApiException.withoutStackTrace(error);
         }
         
-        try {
-            if (method != null) {
-                LOGGER.info("calling method " + method + " on controller " + this.controller + " with args " + Arrays.toString(args));
-                try {
-                    Object response = method.invoke(controller, args);
-                    if (response instanceof ResponseContext) {
-                        ResponseContext wrapper = (ResponseContext) response;
-                        setResponseContentType(requestContext, wrapper, operation);
-                        ResponseBuilder builder = Response.status(wrapper.getStatus());
-
-                        // response headers
-                        for (String key : wrapper.getHeaders().keySet()) {
-                            List<String> v = wrapper.getHeaders().get(key);
-                            if (v.size() == 1) {
-                                builder.header(key, v.get(0));
-                            } else {
-                                builder.header(key, v);
-                            }
+        if (method != null) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("calling method " + method + " on controller " + this.controller + " with args " + Arrays.toString(args));
+            }
+            try {
+                Object response = invoker.invoke(args);
+                if (response instanceof ResponseContext) {
+                    ResponseContext wrapper = (ResponseContext) response;
+                    setResponseContentType(requestContext, wrapper, operation);
+                    ResponseBuilder builder = Response.status(wrapper.getStatus());
+
+                    // response headers
+                    for (String key : wrapper.getHeaders().keySet()) {
+                        List<String> v = wrapper.getHeaders().get(key);
+                        if (v.size() == 1) {
+                            builder.header(key, v.get(0));
+                        } else {
+                            builder.header(key, v);
                         }
+                    }
 
-                        for (NewCookie cookie : wrapper.getCookies()) {
-                            builder.cookie(cookie);
-                        }
+                    for (NewCookie cookie : wrapper.getCookies()) {
+                        builder.cookie(cookie);
+                    }
 
-                        // entity
-                        if (wrapper.getEntity() != null) {
-                            builder.entity(wrapper.getEntity());
-                            // content type
-                            if (wrapper.getContentType() != null) {
-                                builder.type(wrapper.getContentType());
-                            } else {
-                                final ContextResolver<ContentTypeSelector> selector = providersProvider
-                                        .get().getContextResolver(ContentTypeSelector.class,
-                                                MediaType.WILDCARD_TYPE);
-                                if (selector != null) {
-                                    selector.getContext(getClass()).apply(ctx.getAcceptableMediaTypes(),
-                                            builder);
-                                }
+                    // entity
+                    if (wrapper.getEntity() != null) {
+                        builder.entity(wrapper.getEntity());
+                        // content type
+                        if (wrapper.getContentType() != null) {
+                            builder.type(wrapper.getContentType());
+                        } else {
+                            final ContextResolver<ContentTypeSelector> selector = providersProvider
+                                    .get().getContextResolver(ContentTypeSelector.class,
+                                            MediaType.WILDCARD_TYPE);
+                            if (selector != null) {
+                                selector.getContext(getClass()).apply(ctx.getAcceptableMediaTypes(),
+                                        builder);
                             }
+                        }
 
-                            if (operation.getResponses() != null) {
-                                String responseCode = String.valueOf(wrapper.getStatus());
-                                ApiResponse responseSchema = operation.getResponses().get(responseCode);
-                                if (responseSchema == null) {
-                                    // try default response schema
-                                    responseSchema = operation.getResponses().get("default");
-                                }
-                                if (responseSchema != null ) {
-                                    if(responseSchema.getContent() != null) {
-                                        for(String name: responseSchema.getContent().keySet()) {
-                                            if(responseSchema.getContent().get(name).getSchema() != null) {
-                                                Schema media = responseSchema.getContent().get(name).getSchema();
-                                                boolean processValidation = true;
-                                                if(media.getExtensions() != null && media.getExtensions().containsKey(Constants.X_INFLECTOR_SKIP_OUPUT_VALIDATION)) {
-                                                    processValidation = false;
-                                                }
-                                                if(processValidation) {
-                                                    validate(wrapper.getEntity(), media, SchemaValidator.Direction.OUTPUT);
-                                                }
+                        if (operation.getResponses() != null) {
+                            String responseCode = String.valueOf(wrapper.getStatus());
+                            ApiResponse responseSchema = operation.getResponses().get(responseCode);
+                            if (responseSchema == null) {
+                                // try default response schema
+                                responseSchema = operation.getResponses().get("default");
+                            }
+                            if (responseSchema != null ) {
+                                if(responseSchema.getContent() != null && isOutputSampled()) {
+                                    List<Schema> schemas = new ArrayList<>();
+                                    for(String name: responseSchema.getContent().keySet()) {
+                                        if(responseSchema.getContent().get(name).getSchema() != null) {
+                                            Schema media = responseSchema.getContent().get(name).getSchema();
+                                            boolean processValidation = true;
+                                            if(media.getExtensions() != null && media.getExtensions().containsKey(Constants.X_INFLECTOR_SKIP_OUPUT_VALIDATION)) {
+                                                processValidation = false;
+                                            }
+                                            if(processValidation) {
+                                                schemas.add(media);
                                             }
                                         }
                                     }
-                                } else {
-                                    LOGGER.debug("no response schema for code " + responseCode + " to validate against");
+                                    validateOutput(wrapper.getEntity(), schemas, responseCode);
                                 }
+                            } else {
+                                LOGGER.debug("no response schema for code " + responseCode + " to validate against");
                             }
                         }
+                    }
 
-                        return builder.build();
+                    return builder.build();
+                } else {
+                    MediaType type = identifyResponseContentType(requestContext, operation);
+                    if (type != null) {
+                        return Response.ok(response, type).entity(response).build();
                     } else {
-                        MediaType type = identifyResponseContentType(requestContext, operation);
-                        if (type != null) {
-                            return Response.ok(response, type).entity(response).build();
-                        } else {
-                            return Response.ok(response).entity(response).build();
-                        }
+                        return Response.ok(response).entity(response).build();
                     }
+                }
 
-                } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
-                    for (Throwable cause = e.getCause(); cause != null; ) {
-                        if (cause instanceof ApiException) {
-                            throw (ApiException) cause;
-                        }
-                        final Throwable next = cause.getCause();
-                        cause = next == cause || next == null ? null : next;
+            } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+                for (Throwable cause = e.getCause(); cause != null; ) {
+                    if (cause instanceof ApiException) {
+                        throw (ApiException) cause;
                     }
-                    throw new ApiException(ApiErrorUtils.createInternalError(), e);
+                    final Throwable next = cause.getCause();
+                    cause = next == cause || next == null ? null : next;
                 }
+                throw new ApiException(ApiErrorUtils.createInternalError(), e);
             }
-            Map<String, ApiResponse> responses = operation.getResponses();
-            if (responses != null) {
-                String[] keys = new String[responses.keySet().size()];
-                Arrays.sort(responses.keySet().toArray(keys));
-                int code = 0;
-                String defaultKey = null;
-                for (String key : keys) {
-                    if (key.startsWith("2")) {
-                        defaultKey = key;
-                        code = Integer.parseInt(key);
-                        break;
-                    }
-                    if ("default".equals(key)) {
-                        defaultKey = key;
-                        code = 200;
-                        break;
-                    }
-                    if (key.startsWith("3")) {
-                        // we use the 3xx responses as defaults
-                        defaultKey = key;
-                        code = Integer.parseInt(key);
-                    }
-                }
-
-                if(defaultKey != null) {
-                    ResponseBuilder builder = Response.status(code);
-                    ApiResponse response = responses.get(defaultKey);
-
-                    if(response.getHeaders() != null && response.getHeaders().size() > 0) {
-                        Object output = null;
-                        for(String key: response.getHeaders().keySet()) {
-                            Header headerProperty = response.getHeaders().get(key);
-                            if(headerProperty.getSchema()!= null){
-                                output = ExampleBuilder.fromSchema(headerProperty.getSchema(), definitions);
-
-                                if(output instanceof ArrayExample) {
-                                    output = ((ArrayExample)output).asString();
-                                }
-                                else if(output instanceof ObjectExample) {
-                                    LOGGER.debug("not serializing output example, only primitives or arrays of primitives are supported");
-                                }
-                                else {
-                                    output = ((Example)output).asString();
-                                }
-                                builder.header(key, output);
+        }
+        MockResponse mock = getMockResponse();
+        if (mock != null) {
+            ResponseBuilder builder = Response.status(mock.getStatus());
+            ApiResponse response = mock.getResponse();
 
-                            }
-                        }
-                    }
+            for (Map.Entry<String, Object> header : mock.getHeaders().entrySet()) {
+                builder.header(header.getKey(), header.getValue());
+            }
 
-                    Map<String, io.swagger.v3.oas.models.examples.Example> examples = new HashMap<>();
-                    Object output = null;
-                    List<String> exampleProcessorList = config.getExampleProcessors();
-                    io.swagger.v3.oas.models.examples.Example outputExample = null;
-
-                    if (response.getContent() != null) {
-                        if (requestContext.getHeaders().get("Accept") != null) {
-                            for (String acceptable : requestContext.getHeaders().get("Accept")) {
-                                if (response.getContent().get(acceptable) != null) {
-                                    if (response.getContent().get(acceptable).getExamples() != null) {
-                                        examples = response.getContent().get(acceptable).getExamples();
-                                    }
-                                    if (examples != null && examples.size() > 0) {
-                                        for (MediaType key : requestContext.getAcceptableMediaTypes()) {
-                                            MediaType media = MediaType.valueOf(acceptable);
-                                            if (media.isCompatible(key)) {
-                                                if (exampleProcessorList != null && exampleProcessorList.size() > 0) {
-                                                    for (String mode : exampleProcessorList) {
-                                                        if (mode.equals(RANDOM_EXAMPLE)) {
-                                                            Random generator = new Random();
-                                                            Object[] values = examples.values().toArray();
-                                                            outputExample = (io.swagger.v3.oas.models.examples.Example) values[generator.nextInt(values.length)];
-
-                                                        } else if (mode.equals(SEQUENCIAL_EXAMPLE)) {
-                                                            if (sequence >= examples.size()) {
-                                                                sequence = 0;
-                                                            }
-                                                            Object[] values = examples.values().toArray();
-                                                            outputExample = (io.swagger.v3.oas.models.examples.Example) values[sequence];
-                                                            sequence++;
-                                                        }
-                                                        builder.entity(outputExample)
-                                                                .type(acceptable);
-                                                        return builder.build();
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                    output = ExampleBuilder.fromSchema(response.getContent().get(acceptable).getSchema(), definitions);
-                                }else{
-                                    for (String media: response.getContent().keySet()) {
-                                        output = ExampleBuilder.fromSchema(response.getContent().get(media).getSchema(), definitions);
-                                        break;
+            SerializedExampleCache output = null;
+
+            if (response.getContent() != null) {
+                if (requestContext.getHeaders().get("Accept") != null) {
+                    for (String acceptable : requestContext.getHeaders().get("Accept")) {
+                        if (response.getContent().get(acceptable) != null) {
+                            ExampleSet examples = exampleRotation != null ? mock.getNamedExamples(acceptable) : null;
+                            if (examples != null) {
+                                MediaType media = contentType(acceptable);
+                                for (MediaType key : requestContext.getAcceptableMediaTypes()) {
+                                    if (media.isCompatible(key)) {
+                                        builder.entity(exampleRotation.next(examples, requestContext))
+                                                .type(acceptable);
+                                        return builder.build();
                                     }
                                 }
                             }
-
+                            output = mock.getSerializedExample(acceptable);
                         }else{
-                            for (String key: response.getContent().keySet()) {
-                                if (response.getContent().get(key).getExamples() != null) {
-                                    examples = response.getContent().get(key).getExamples();
-                                }
-                                if (examples != null && examples.size() > 0) {
-                                    for (MediaType media : requestContext.getAcceptableMediaTypes()) {
-                                        if (MediaType.valueOf(key).isCompatible(media)) {
-                                            if (exampleProcessorList != null && exampleProcessorList.size() > 0) {
-                                                for (String mode : exampleProcessorList) {
-                                                    if (mode.equals(RANDOM_EXAMPLE)) {
-                                                        Random generator = new Random();
-                                                        Object[] values = examples.values().toArray();
-                                                        outputExample = (io.swagger.v3.oas.models.examples.Example) values[generator.nextInt(values.length)];
-
-                                                    } else if (mode.equals(SEQUENCIAL_EXAMPLE)) {
-                                                        if (sequence >= examples.size()) {
-                                                            sequence = 0;
-                                                        }
-                                                        Object[] values = examples.values().toArray();
-                                                        outputExample = (io.swagger.v3.oas.models.examples.Example) values[sequence];
-                                                        sequence++;
-                                                    }
-                                                    builder.entity(outputExample)
-                                                            .type(MediaType.valueOf(key));
-                                                    return builder.build();
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
-                                output = ExampleBuilder.fromSchema(response.getContent().get(key).getSchema(), definitions);
+                            for (String media: response.getContent().keySet()) {
+                                output = mock.getSerializedExample(media);
+                                break;
                             }
                         }
                     }
 
-                    if (output != null) {
-                        ResponseContext resp = new ResponseContext().entity(output);
-                        setResponseContentType(requestContext, resp, operation);
-                        builder.entity(output);
-                        if (resp.getContentType() != null) {
-                            // this comes from the operation itself
-                            builder.type(resp.getContentType());
-                        }
-                        else {
-                            // get acceptable content types
-                            List<EntityProcessor> processors = EntityProcessorFactory.getProcessors();
-
-                            MediaType responseMediaType = null;
-
-                            // take first compatible one
-                            for (EntityProcessor processor : processors) {
-                                if(responseMediaType != null) {
-                                    break;
-                                }
-                                for (MediaType mediaTypet : requestContext.getAcceptableMediaTypes()) {
-                                    LOGGER.debug("checking type " + mediaType.toString() + " against " + processor.getClass().getName());
-                                    if (processor.supports(mediaType)) {
-                                        builder.type(mediaTypet);
-                                        responseMediaType = mediaTypet;
-                                        break;
-                                    }
-                                }
-                            }
-
-                            if(responseMediaType == null) {
-                                // no match based on Accept header, use first processor in list
-                                for (EntityProcessor processor : processors) {
-                                    List<MediaType> supportedTypes = processor.getSupportedMediaTypes();
-                                    if (supportedTypes.size() > 0) {
-                                        builder.type(supportedTypes.get(0));
-                                        break;
-                                    }
+                }else{
+                    for (String key: response.getContent().keySet()) {
+                        ExampleSet examples = exampleRotation != null ? mock.getNamedExamples(key) : null;
+                        if (examples != null) {
+                            for (MediaType media : requestContext.getAcceptableMediaTypes()) {
+                                if (contentType(key).isCompatible(media)) {
+                                    builder.entity(exampleRotation.next(examples, requestContext))
+                                            .type(contentType(key));
+                                    return builder.build();
                                 }
                             }
                         }
-
-                        builder.entity(output);
+                        output = mock.getSerializedExample(key);
                     }
-                    return builder.build();
-                }
-                else {
-                    LOGGER.debug("no response type to map to, assume 200");
-                    code = 200;
                 }
-                return Response.status(code).build();
             }
-            return Response.ok().build();
-        } finally {
-            for (String key : inputStreams.keySet()) {
-                File file = inputStreams.get(key);
-                if (file != null) {
-                    LOGGER.debug("deleting file " + file.getPath());
-                    file.delete();
+
+            if (output != null) {
+                ResponseContext resp = new ResponseContext().entity(output.getExample());
+                setResponseContentType(requestContext, resp, operation);
+                // the writers find the serialized bodies of the example among the annotations
+                builder.entity(output.getExample(), output.annotations());
+                if (resp.getContentType() != null) {
+                    // this comes from the operation itself
+                    builder.type(resp.getContentType());
                 }
+                else {
+                    MediaType responseMediaType = EntityProcessorFactory.getResponseMediaType(requestContext.getAcceptableMediaTypes());
+                    if (responseMediaType != null) {
+                        builder.type(responseMediaType);
+                    }
+                }
+
             }
+            return builder.build();
         }
+        return Response.ok().build();
     }
 
 
 
+    private void logUnexpectedKeys(MultivaluedMap<String, String> queryParameters, MultivaluedMap<String, String> pathParameters) {
+        Set<String> existingKeys = new HashSet<>();
+        for (String key : queryParameters.keySet()) {
+            if (!queryParameterNames.contains(key)) {
+                existingKeys.add(key + ": qp");
+            }
+        }
+        for (String key : pathParameters.keySet()) {
+            if (!pathParameterNames.contains(key)) {
+                existingKeys.add(key + ": pp");
+            }
+        }
+        if (existingKeys.size() > 0) {
+            LOGGER.debug("unexpected keys: " + existingKeys);
+        }
+    }
+
     public void validate(Object o, Schema property, SchemaValidator.Direction direction) throws ApiException {
         doValidation(o, property, direction);
     }
 
+    boolean isOutputSampled() {
+        if (!config.getValidatePayloads().contains(Configuration.Direction.OUT)) {
+            return false;
+        }
+        return outputSampleRate >= 1 || (outputSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < outputSampleRate);
+    }
+
+    void validateOutput(Object entity, List<Schema> schemas, String responseCode) throws ApiException {
+        if (schemas.isEmpty()) {
+            return;
+        }
+        if (!config.isAsyncOutputValidation()) {
+            for (Schema schema : schemas) {
+                validate(entity, schema, SchemaValidator.Direction.OUTPUT);
+            }
+            return;
+        }
+        ExecutorService executor = config.getOutputValidationExecutor();
+        OutputValidationListener listener = config.getOutputValidationListener();
+        if (executor instanceof ThreadPoolExecutor && ((ThreadPoolExecutor) executor).getQueue().remainingCapacity() == 0) {
+            // don't copy the entity just to drop it
+            dropped(listener);
+            return;
+        }
+        // the controller may still change the entity, validate what it is now
+        final JsonNode snapshot = entity instanceof JsonNode ? ((JsonNode) entity).deepCopy() : Json.mapper().valueToTree(entity);
+        try {
+            executor.execute(() -> {
+                for (Schema schema : schemas) {
+                    if (!isValid(snapshot, schema, SchemaValidator.Direction.OUTPUT)) {
+                        if (listener != null) {
+                            try {
+                                listener.invalidResponse(operation, responseCode, snapshot);
+                            } catch (RuntimeException e) {
+                                LOGGER.error("output validation listener failed", e);
+                            }
+                        }
+                        return;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped(listener);
+        }
+    }
+
+    private void dropped(OutputValidationListener listener) {
+        LOGGER.debug("output validation of " + operationKey + " dropped, the validation queue is full");
+        if (listener != null) {
+            listener.dropped(operation);
+        }
+    }
+
     public void setResponseContentType(RequestContext res, ResponseContext resp, Operation operation) {
         // honor what has been set, it may be determined by business logic in the controller
         if (resp.getContentType() != null) {
@@ -733,49 +746,84 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
     }
 
     public MediaType identifyResponseContentType(RequestContext res, Operation operation) {
-        MediaType type = null;
-        ApiResponses responses = operation.getResponses();
-        if (responses != null) {
-            for (String responseCode : responses.keySet()) {
-                final ApiResponse response = responses.get(responseCode);
-                Content content = response.getContent();
-                if(content == null) {
-                    continue;
-                }
-
-                for(String key : content.keySet()) {
-                    MediaType mediaType = MediaType.valueOf(key);
-                    if (res.getHeaders().get("Accept")!= null) {
-                        for (String acceptable : res.getHeaders().get("Accept")) {
-                            String subtype = acceptable.substring(acceptable.lastIndexOf("/") + 1);
-                            if (!MediaType.WILDCARD_TYPE.equals(mediaType)) {
-                                type = mediaType;
-                                if (subtype.equals(mediaType.getSubtype())) {
-                                    return type;
-                                }
-                            }
-
-                        }
-                    }else {
-                        for (MediaType acceptable : res.getAcceptableMediaTypes()){
-                            if (!MediaType.WILDCARD_TYPE.equals(mediaType)) {
-                                type = mediaType;
-                                if (mediaType.isCompatible(acceptable)) {
-                                    return type;
-                                }
+        if (operation != this.operation) {
+            return negotiateResponseContentType(res, parseResponseContentTypes(operation));
+        }
+        List<String> accept = res.getHeaders().get("Accept");
+        if (accept == null) {
+            // without an Accept header the container's defaults decide, which accept anything
+            List<MediaType> acceptable = res.getAcceptableMediaTypes();
+            if (acceptable != null && acceptable.size() == 1 && acceptable.get(0).isWildcardType()
+                    && acceptable.get(0).isWildcardSubtype()) {
+                return wildcardContentType;
+            }
+            return negotiateResponseContentType(res, responseContentTypes);
+        }
+        String key = accept.size() == 1 ? accept.get(0) : String.join("\n", accept);
+        MediaType type = negotiatedContentTypes.get(key);
+        if (type == null) {
+            type = negotiateResponseContentType(res, responseContentTypes);
+            // no content type, the only result not cached, is negotiated at no cost
+            if (type != null && negotiatedContentTypes.size() < MAX_NEGOTIATED_ACCEPTS) {
+                negotiatedContentTypes.put(key, type);
+            }
+        }
+        return type;
+    }
 
-                            }
+    private static MediaType negotiateResponseContentType(RequestContext res, List<MediaType> contentTypes) {
+        MediaType type = null;
+        for (MediaType mediaType : contentTypes) {
+            if (res.getHeaders().get("Accept")!= null) {
+                for (String acceptable : res.getHeaders().get("Accept")) {
+                    String subtype = acceptable.substring(acceptable.lastIndexOf("/") + 1);
+                    if (!MediaType.WILDCARD_TYPE.equals(mediaType)) {
+                        type = mediaType;
+                        if (subtype.equals(mediaType.getSubtype())) {
+                            return type;
                         }
                     }
 
                 }
+            }else {
+                for (MediaType acceptable : res.getAcceptableMediaTypes()){
+                    if (!MediaType.WILDCARD_TYPE.equals(mediaType)) {
+                        type = mediaType;
+                        if (mediaType.isCompatible(acceptable)) {
+                            return type;
+                        }
 
+                    }
+                }
             }
-
         }
         return type;
     }
 
+    /**
+     * @return the content types of all responses of the operation, in the order they are declared
+     */
+    private static List<MediaType> parseResponseContentTypes(Operation operation) {
+        List<MediaType> contentTypes = new ArrayList<>();
+        ApiResponses responses = operation.getResponses();
+        if (responses != null) {
+            for (String responseCode : responses.keySet()) {
+                Content content = responses.get(responseCode).getContent();
+                if (content != null) {
+                    for (String key : content.keySet()) {
+                        contentTypes.add(MediaType.valueOf(key));
+                    }
+                }
+            }
+        }
+        return contentTypes;
+    }
+
+    private MediaType contentType(String key) {
+        MediaType mediaType = contentTypesByKey.get(key);
+        return mediaType != null ? mediaType : MediaType.valueOf(key);
+    }
+
     public String getOperationSignature() {
         return operationSignature;
     }
@@ -806,6 +854,7 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
 
     public void setMethod(Method method) {
         this.method = method;
+        this.invoker = method != null ? ControllerInvoker.of(controller, method) : null;
     }
 
     // package protected to facilitate unit testing
@@ -815,6 +864,15 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
         return new RequestContext(from, request, response);
     }
 
+    private MockResponse getMockResponse() {
+        MockResponse mock = mockResponse;
+        if (mock == null) {
+            mock = MockResponse.of(operation, definitions);
+            mockResponse = mock;
+        }
+        return mock;
+    }
+
     private HttpServletRequest getHttpServletRequest() {
         if (requestProvider != null) {
             return requestProvider.get();
@@ -833,22 +891,22 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
         }
     }
 
-    private void doValidation(Object value, Object schema, SchemaValidator.Direction direction) throws ApiException {
+    private void doValidation(Object value, Schema schema, SchemaValidator.Direction direction) throws ApiException {
         if (config.getValidatePayloads().isEmpty()) {
             return;
         }
         switch (direction) {
             case INPUT:
                 if (config.getValidatePayloads().contains(Configuration.Direction.IN)
-                        && !SchemaValidator.validate(value, Json.pretty(schema), direction)) {
-                    throw new ApiException(new ApiError()
+                        && !isValid(value, schema, direction)) {
+                    throw ApiException.withoutStackTrace(new ApiError()
                             .code(config.getInvalidRequestStatusCode())
                             .message("Input does not match the expected structure"));
                 }
                 break;
             case OUTPUT:
                 if (config.getValidatePayloads().contains(Configuration.Direction.OUT)
-                        && !SchemaValidator.validate(value, Json.pretty(schema), direction)) {
+                        && !isValid(value, schema, direction)) {
                     throw new ApiException(new ApiError()
                             .code(config.getInvalidRequestStatusCode())
                             .message("The server generated an invalid response"));
@@ -856,7 +914,67 @@ public class OpenAPIOperationController extends ReflectionUtils implements Infle
                 break;
         }
     }
-    
+
+    private boolean isValid(Object value, Schema schema, SchemaValidator.Direction direction) {
+        com.networknt.schema.Schema compiled = validationSchemas.get(schema);
+        if (compiled != null) {
+            return SchemaValidator.validate(value, compiled, direction,
+                    config.getPayloadValidationErrorLimit(), config.getPayloadValidationLogLimit(),
+                    config.getParallelArrayValidationThreshold(), parallelArrayPool);
+        }
+        // not a schema of this operation, serialize it and go through the schema string cache
+        return SchemaValidator.validate(value, Json.pretty(schema), direction,
+                config.getPayloadValidationErrorLimit(), config.getPayloadValidationLogLimit(),
+                config.getParallelArrayValidationThreshold(), parallelArrayPool);
+    }
+
+    // compiles the request and response schemas of this operation once, so payload validation doesn't parse them per request
+    private void compileValidationSchemas() {
+        Set<Configuration.Direction> directions = config.getValidatePayloads();
+        Map<Schema, com.networknt.schema.Schema> compiled = new IdentityHashMap<>();
+        RequestBody body = operation.getRequestBody();
+        if (directions.contains(Configuration.Direction.IN) && body != null && body.getContent() != null) {
+            for (String name : body.getContent().keySet()) {
+                io.swagger.v3.oas.models.media.MediaType media = body.getContent().get(name);
+                if (media != null && media.getSchema() != null
+                        && !hasExtension(media.getSchema(), Constants.X_INFLECTOR_SKIP_INPUT_VALIDATION)) {
+                    addValidationSchema(compiled, media.getSchema());
+                }
+            }
+        }
+        ApiResponses responses = operation.getResponses();
+        if (directions.contains(Configuration.Direction.OUT) && responses != null) {
+            for (String responseCode : responses.keySet()) {
+                Content content = responses.get(responseCode).getContent();
+                if (content == null) {
+                    continue;
+                }
+                for (String name : content.keySet()) {
+                    Schema schema = content.get(name).getSchema();
+                    if (schema != null && !hasExtension(schema, Constants.X_INFLECTOR_SKIP_OUPUT_VALIDATION)) {
+                        addValidationSchema(compiled, schema);
+                    }
+                }
+            }
+        }
+        validationSchemas = Collections.unmodifiableMap(compiled);
+    }
+
+    private static void addValidationSchema(Map<Schema, com.networknt.schema.Schema> compiled, Schema schema) {
+        if (compiled.containsKey(schema)) {
+            return;
+        }
+        // cached by content, so operations sharing a schema share its compiled form
+        com.networknt.schema.Schema jsonSchema = SchemaValidator.getValidationSchema(Json.pretty(schema));
+        if (jsonSchema != null) {
+            compiled.put(schema, jsonSchema);
+        }
+    }
+
+    private static boolean hasExtension(Schema schema, String extension) {
+        return schema.getExtensions() != null && schema.getExtensions().containsKey(extension);
+    }
+
     private ControllerFactory getControllerFactory() {
     	if (controllerFactoryCache == null){
     		controllerFactoryCache = config.getControllerFactory();
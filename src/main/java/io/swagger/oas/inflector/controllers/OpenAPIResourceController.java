@@ -16,37 +16,69 @@
 
 package io.swagger.oas.inflector.controllers;
 
+import io.swagger.oas.inflector.config.CacheableSpecFilter;
 import io.swagger.oas.inflector.config.FilterFactory;
 import io.swagger.oas.inflector.config.OpenAPIProcessor;
-import io.swagger.oas.inflector.utils.VendorSpecFilter;
+import io.swagger.oas.inflector.utils.DefaultSpecFilter;
+import io.swagger.oas.inflector.utils.EntityTags;
 import io.swagger.v3.core.filter.OpenAPISpecFilter;
 import io.swagger.v3.core.filter.SpecFilter;
 import io.swagger.v3.core.util.Json;
+import io.swagger.v3.jaxrs2.SwaggerSerializers;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.glassfish.jersey.process.Inflector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 
+/**
+ * Serves the exposed OpenAPI document. The processed document is built once; when the spec filter is
+ * cacheable (see {@link CacheableSpecFilter}) the filtered document is also kept, serialized, for each
+ * combination of the headers and cookies the filter reads, and served with an ETag.
+ */
 public class OpenAPIResourceController implements Inflector<ContainerRequestContext, Response> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenAPIResourceController.class);
+    private static final int MAX_CACHED_DOCUMENTS = 64;
 
     private OpenAPI openAPI;
     private List<OpenAPIProcessor> openAPIProcessors;
+    private final MediaType mediaType;
+    private volatile OpenAPI processedOpenAPI;
+    private OpenAPISpecFilter cachedFilter;
+    private final Map<String, Document> documents = new LinkedHashMap<String, Document>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Document> eldest) {
+            return size() > MAX_CACHED_DOCUMENTS;
+        }
+    };
 
     public OpenAPIResourceController(OpenAPI openAPI, List<String> swaggerProcessors) {
+        this(openAPI, swaggerProcessors, null);
+    }
+
+    /**
+     * @param mediaType the type the document is served as; when set, filtered documents are cached as bytes
+     */
+    public OpenAPIResourceController(OpenAPI openAPI, List<String> swaggerProcessors, MediaType mediaType) {
 
         this.openAPI = openAPI;
+        this.mediaType = mediaType;
 
         this.openAPIProcessors = new ArrayList<>(swaggerProcessors.size());
         for (String swaggerProcessorClass : swaggerProcessors) {
@@ -62,35 +94,121 @@ public class OpenAPIResourceController implements Inflector<ContainerRequestCont
     @Override
     public Response apply(ContainerRequestContext arg0) {
         OpenAPISpecFilter filter = FilterFactory.getFilter();
-        if(filter != null) {
-            Map<String, Cookie> cookiesvalue = arg0.getCookies();
-            Map<String, String> cookies = new HashMap<>();
-            if(cookiesvalue != null) {
-                for(String key: cookiesvalue.keySet()) {
-                    cookies.put(key, cookiesvalue.get(key).getValue());
+        if (mediaType != null && isCacheable(filter)) {
+            Document document = getDocument(arg0, filter);
+            if (document != null) {
+                if (EntityTags.matches(arg0.getHeaders().get(HttpHeaders.IF_NONE_MATCH), document.etag)) {
+                    return Response.notModified().header(HttpHeaders.ETAG, document.etag).build();
                 }
+                return Response.ok(document.bytes, mediaType).header(HttpHeaders.ETAG, document.etag).build();
             }
-
-            MultivaluedMap<String, String> headers = arg0.getHeaders();
+        }
+        if(filter != null) {
             // since https://github.com/swagger-api/swagger-inflector/issues/305 filtering of inflector extensions is handled at init time by ExtensionsUtils, and VendorSpecFilter is not needed anymore
-            return Response.ok().entity(new SpecFilter().filter(getOpenAPI(), filter, null, cookies, headers)).build();
+            return Response.ok().entity(filter(filter, arg0)).build();
         }
         return Response.ok().entity(getOpenAPI()).build();
     }
 
-    private OpenAPI getOpenAPI() {
-        if (!openAPIProcessors.isEmpty()) {
-            try {
-                final OpenAPI openAPI = Json.mapper().readValue(Json.mapper().writeValueAsString(this.openAPI),
-                        OpenAPI.class);
-                for (OpenAPIProcessor openAPIProcessor : openAPIProcessors) {
-                    openAPIProcessor.process(openAPI);
+    private OpenAPI filter(OpenAPISpecFilter filter, ContainerRequestContext arg0) {
+        Map<String, Cookie> cookiesvalue = arg0.getCookies();
+        Map<String, String> cookies = new HashMap<>();
+        if(cookiesvalue != null) {
+            for(String key: cookiesvalue.keySet()) {
+                cookies.put(key, cookiesvalue.get(key).getValue());
+            }
+        }
+
+        MultivaluedMap<String, String> headers = arg0.getHeaders();
+        return new SpecFilter().filter(getOpenAPI(), filter, null, cookies, headers);
+    }
+
+    private Document getDocument(ContainerRequestContext arg0, OpenAPISpecFilter filter) {
+        String key = cacheKey(arg0, filter);
+        synchronized (documents) {
+            if (cachedFilter != filter) {
+                documents.clear();
+                cachedFilter = filter;
+            }
+            Document document = documents.get(key);
+            if (document != null) {
+                return document;
+            }
+        }
+        OpenAPI filtered = filter == null ? getOpenAPI() : filter(filter, arg0);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new SwaggerSerializers().writeTo(filtered, OpenAPI.class, OpenAPI.class, new Annotation[0], mediaType,
+                    new MultivaluedHashMap<String, Object>(), out);
+            Document document = new Document(out.toByteArray());
+            synchronized (documents) {
+                if (cachedFilter == filter) {
+                    documents.put(key, document);
                 }
-                return openAPI;
-            } catch (IOException e) {
-                LOGGER.error("Unable to serialize/deserialize swagger: " + openAPI, e);
             }
+            return document;
+        } catch (IOException e) {
+            LOGGER.error("Unable to serialize openAPI document", e);
+            return null;
+        }
+    }
+
+    private static boolean isCacheable(OpenAPISpecFilter filter) {
+        // subclasses of the default filter may read the request, so only the class itself is known to be safe
+        return filter == null || filter instanceof CacheableSpecFilter || filter.getClass() == DefaultSpecFilter.class;
+    }
+
+    private static String cacheKey(ContainerRequestContext arg0, OpenAPISpecFilter filter) {
+        if (!(filter instanceof CacheableSpecFilter)) {
+            return "";
+        }
+        CacheableSpecFilter cacheable = (CacheableSpecFilter) filter;
+        StringBuilder key = new StringBuilder();
+        for (String header : cacheable.getCacheKeyHeaders()) {
+            List<String> values = arg0.getHeaders().get(header);
+            key.append("h:").append(header).append('=').append(values == null ? "" : values).append('\0');
+        }
+        Map<String, Cookie> cookies = arg0.getCookies();
+        for (String name : cacheable.getCacheKeyCookies()) {
+            Cookie cookie = cookies == null ? null : cookies.get(name);
+            key.append("c:").append(name).append('=').append(cookie == null ? "" : cookie.getValue()).append('\0');
+        }
+        return key.toString();
+    }
+
+    private OpenAPI getOpenAPI() {
+        if (openAPIProcessors.isEmpty()) {
+            return openAPI;
+        }
+        OpenAPI processed = processedOpenAPI;
+        if (processed == null) {
+            processed = process();
+            processedOpenAPI = processed;
+        }
+        return processed;
+    }
+
+    private OpenAPI process() {
+        try {
+            final OpenAPI openAPI = Json.mapper().readValue(Json.mapper().writeValueAsString(this.openAPI),
+                    OpenAPI.class);
+            for (OpenAPIProcessor openAPIProcessor : openAPIProcessors) {
+                openAPIProcessor.process(openAPI);
+            }
+            return openAPI;
+        } catch (IOException e) {
+            LOGGER.error("Unable to serialize/deserialize swagger: " + openAPI, e);
         }
         return openAPI;
     }
+
+    private static final class Document {
+        private final byte[] bytes;
+        private final String etag;
+
+        private Document(byte[] bytes) {
+            this.bytes = bytes;
+            this.etag = EntityTags.strong(bytes);
+        }
+    }
 }
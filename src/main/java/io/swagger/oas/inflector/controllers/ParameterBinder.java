@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.controllers;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.swagger.oas.inflector.converters.ConversionException;
+import io.swagger.oas.inflector.converters.InputConverter;
+import io.swagger.oas.inflector.converters.ParameterPipeline;
+import io.swagger.oas.inflector.validators.ValidationException;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds a single operation parameter to its controller argument. Binders are computed once per
+ * operation, together with the converters and validators that apply to the parameter, so the request
+ * path doesn't need to inspect the parameter definitions again.
+ */
+final class ParameterBinder {
+
+    enum Source {
+        QUERY, PATH, HEADER, COOKIE;
+
+        static Source fromIn(String in) {
+            if ("query".equals(in)) {
+                return QUERY;
+            }
+            if ("path".equals(in)) {
+                return PATH;
+            }
+            if ("header".equals(in)) {
+                return HEADER;
+            }
+            if ("cookie".equals(in)) {
+                return COOKIE;
+            }
+            return null;
+        }
+    }
+
+    private final Parameter parameter;
+    private final Source source;
+    private final String name;
+    private final JavaType type;
+    private final Class<?> rawClass;
+    private final int index;
+    private final ParameterPipeline pipeline;
+
+    ParameterBinder(Parameter parameter, JavaType type, int index, InputConverter converter) {
+        this.parameter = parameter;
+        this.source = Source.fromIn(parameter.getIn());
+        this.name = parameter.getName();
+        this.type = type;
+        this.rawClass = type != null ? type.getRawClass() : null;
+        this.index = index;
+        this.pipeline = converter.compile(parameter, rawClass);
+    }
+
+    static ParameterBinder[] compile(List<Parameter> parameters, JavaType[] parameterClasses, InputConverter converter) {
+        if (parameters == null || parameters.isEmpty()) {
+            return new ParameterBinder[0];
+        }
+        ParameterBinder[] binders = new ParameterBinder[parameters.size()];
+        for (int i = 0; i < binders.length; i++) {
+            // the first argument is always the request context
+            binders[i] = new ParameterBinder(parameters.get(i), parameterClasses[i + 1], i + 1, converter);
+        }
+        return binders;
+    }
+
+    Object bind(ContainerRequestContext ctx, MultivaluedMap<String, String> queryParameters,
+                MultivaluedMap<String, String> pathParameters, Map<String, Schema> definitions)
+            throws ConversionException, ValidationException {
+        if (source == null) {
+            return null;
+        }
+        return pipeline.convertAndValidate(values(ctx, queryParameters, pathParameters), rawClass, definitions);
+    }
+
+    private List<String> values(ContainerRequestContext ctx, MultivaluedMap<String, String> queryParameters,
+                                MultivaluedMap<String, String> pathParameters) {
+        switch (source) {
+            case QUERY:
+                return queryParameters.get(name);
+            case PATH:
+                return pathParameters.get(name);
+            case HEADER:
+                return ctx.getHeaders().get(name);
+            case COOKIE:
+                Cookie cookie = ctx.getCookies().get(name);
+                return cookie != null ? Collections.singletonList(cookie.getValue()) : null;
+            default:
+                return null;
+        }
+    }
+
+    Parameter getParameter() {
+        return parameter;
+    }
+
+    Source getSource() {
+        return source;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    JavaType getType() {
+        return type;
+    }
+
+    int getIndex() {
+        return index;
+    }
+}
@@ -7,6 +7,23 @@ public class ConversionException extends Exception {
 
   public ConversionException() {}
 
+  /**
+   * Creates an exception that already carries its message and, unless asked for, no stack trace, so it can
+   * be created once and thrown for every failed conversion of the same value.
+   */
+  protected ConversionException(ValidationMessage message, boolean writableStackTrace) {
+      super(null, null, false, writableStackTrace);
+      this.message = message;
+  }
+
+  /**
+   * @return an exception without a stack trace, for input a client sent that can't be converted; its message
+   * can't be changed, so the exception can be shared
+   */
+  public static ConversionException withoutStackTrace(ValidationMessage message) {
+      return new Shared(message.unmodifiable());
+  }
+
   private ValidationMessage message;
 
   public ConversionException message(ValidationMessage message) {
@@ -17,4 +34,17 @@ public class ConversionException extends Exception {
   public ValidationMessage getError() {
       return message;
   }
+
+  private static final class Shared extends ConversionException {
+      private static final long serialVersionUID = 1L;
+
+      Shared(ValidationMessage message) {
+          super(message, false);
+      }
+
+      @Override
+      public ConversionException message(ValidationMessage message) {
+          throw new UnsupportedOperationException("shared conversion exception");
+      }
+  }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package io.swagger.oas.inflector.converters;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.swagger.oas.inflector.utils.ReflectionUtils;
 import io.swagger.oas.inflector.validators.ValidationError;
@@ -18,16 +21,18 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.StringUtils;
-import org.joda.time.DateTime;
-import org.joda.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultConverter extends ReflectionUtils implements Converter {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultConverter.class);
+    // a plain mapper, configured like the ones that used to be created per argument
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
 
     private Map<String, Schema> definitions;
 
@@ -63,7 +68,7 @@ public class DefaultConverter extends ReflectionUtils implements Converter {
                     for (final String aSplit : split) {
                         try {
                             final String object = aSplit.endsWith("}") ? aSplit : aSplit + "}";
-                            objects.add(new ObjectMapper().readValue(object, innerClass));
+                            objects.add(reader(innerClass).readValue(object));
                         } catch (IOException e) {
                             LOGGER.error("error casting `" + arguments + "` to " + cls);
                         }
@@ -98,7 +103,7 @@ public class DefaultConverter extends ReflectionUtils implements Converter {
             }
         } else if (isJson(arguments)) {
             try {
-                return new ObjectMapper().readValue(arguments.get(0), cls);
+                return reader(cls).readValue(arguments.get(0));
             } catch (IOException e) {
                 LOGGER.error("error casting `" + arguments + "` to " + cls);
             }
@@ -116,17 +121,60 @@ public class DefaultConverter extends ReflectionUtils implements Converter {
     }
 
     private boolean isJson (List<String> arguments) {
-        boolean isJson = false;
-        try {
-            final ObjectMapper mapper = new ObjectMapper();
-            for (String argument : arguments) {
-                mapper.readTree(argument);
-                isJson = true;
+        for (String argument : arguments) {
+            if (!isJson(argument)) {
+                return false;
             }
+        }
+        return !arguments.isEmpty();
+    }
+
+    /**
+     * Checks that the argument starts like a JSON value and that its first value is well formed, streaming
+     * through the tokens rather than building a tree.
+     */
+    static boolean isJson(String argument) {
+        if (argument == null || !startsLikeJson(argument)) {
+            return false;
+        }
+        try (JsonParser parser = MAPPER.getFactory().createParser(argument)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            }
+            return true;
         } catch (IOException e) {
             return false;
         }
-        return isJson;
+    }
+
+    private static boolean startsLikeJson(String argument) {
+        for (int i = 0; i < argument.length(); i++) {
+            char c = argument.charAt(i);
+            switch (c) {
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                    continue;
+                case '{':
+                case '[':
+                case '"':
+                case '-':
+                case 't':
+                case 'f':
+                case 'n':
+                    return true;
+                default:
+                    return c >= '0' && c <= '9';
+            }
+        }
+        // empty content still counts as JSON, as it did when the argument was read as a tree
+        return true;
+    }
+
+    private static ObjectReader reader(Class<?> cls) {
+        return READERS.computeIfAbsent(cls, MAPPER::readerFor);
     }
 
     public Object coerceValue(List<String> arguments, Parameter parameter, Class<?> cls) throws ConversionException {
@@ -250,53 +298,17 @@ public class DefaultConverter extends ReflectionUtils implements Converter {
         }
         Class<?> cls = javaType.getRawClass();
         LOGGER.debug("coercing `" + argument + "` to `" + cls + "`");
-        try {
-            if (Integer.class.equals(cls)) {
-                return Integer.parseInt(argument);
-            }
-            if (Long.class.equals(cls)) {
-                return Long.parseLong(argument);
-            }
-            if (Float.class.equals(cls)) {
-                return Float.parseFloat(argument);
-            }
-            if (Double.class.equals(cls)) {
-                return Double.parseDouble(argument);
-            }
-            if (String.class.equals(cls)) {
-                return argument;
-            }
-            if (Boolean.class.equals(cls)) {
-                if ("1".equals(argument)) {
-                    return Boolean.TRUE;
-                }
-                if ("0".equals(argument)) {
-                    return Boolean.FALSE;
-                }
-                return Boolean.parseBoolean(argument);
-            }
-            if (UUID.class.equals(cls)) {
-                return UUID.fromString(argument);
-            }
-            if(LocalDate.class.equals(cls)) {
-                return LocalDate.parse(argument);
-            }
-            if(DateTime.class.equals(cls)) {
-                return DateTime.parse(argument);
-            }
-        } catch (NumberFormatException e) {
-            LOGGER.debug("couldn't coerce `" + argument + "` to type " + cls);
-            throw new ConversionException()
-              .message(new ValidationMessage()
-                .code(ValidationError.INVALID_FORMAT)
-                .message("couldn't convert `" + argument + "` to type `" + cls + "`"));
-        } catch (IllegalArgumentException e) {
+        PrimitiveCoercer coercer = PrimitiveCoercer.forType(cls);
+        if (coercer == null) {
+            return null;
+        }
+        Object value = coercer.coerce(argument);
+        if (value == null) {
             LOGGER.debug("couldn't coerce `" + argument + "` to type " + cls);
-            throw new ConversionException()
-              .message(new ValidationMessage()
+            throw ConversionException.withoutStackTrace(new ValidationMessage()
                 .code(ValidationError.INVALID_FORMAT)
                 .message("couldn't convert `" + argument + "` to type `" + cls + "`"));
         }
-        return null;
+        return value;
     }
 }
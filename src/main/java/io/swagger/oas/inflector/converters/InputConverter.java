@@ -13,16 +13,16 @@ import io.swagger.v3.oas.models.parameters.RequestBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class InputConverter {
     private static final Logger LOGGER = LoggerFactory.getLogger(InputConverter.class);
     private static InputConverter INSTANCE = new InputConverter();
-    private List<Validator> validationChain = new ArrayList<Validator>();
-    private List<Converter> converterChain = new ArrayList<Converter>();
+    private List<Validator> validationChain = new CopyOnWriteArrayList<Validator>();
+    private List<Converter> converterChain = new CopyOnWriteArrayList<Converter>();
 
     public static InputConverter getInstance() {
         return INSTANCE;
@@ -99,6 +99,22 @@ public class InputConverter {
         return this;
     }
 
+    /**
+     * Captures the current converters and validators for a parameter. Later changes to this converter's
+     * chains do not affect the returned pipeline.
+     */
+    public ParameterPipeline compile(Parameter parameter) {
+        return compile(parameter, null);
+    }
+
+    /**
+     * Like {@link #compile(Parameter)}, for values that are converted to the given class. Simple types are
+     * then converted without going through the converter chain when the default converter is the first one.
+     */
+    public ParameterPipeline compile(Parameter parameter, Class<?> cls) {
+        return new ParameterPipeline(parameter, cls, converterChain, validationChain);
+    }
+
     public Object convertAndValidate(List<String> value, Parameter parameter, Class<?> cls, Map<String, Schema> definitions) throws ConversionException, ValidationException {
         Iterator<Converter> itr = converterChain.iterator();
         Object output = null;
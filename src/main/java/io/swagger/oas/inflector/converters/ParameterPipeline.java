@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.converters;
+
+import io.swagger.oas.inflector.validators.DefaultValidator;
+import io.swagger.oas.inflector.validators.NumericValidator;
+import io.swagger.oas.inflector.validators.SchemaConstraints;
+import io.swagger.oas.inflector.validators.StringTypeValidator;
+import io.swagger.oas.inflector.validators.ValidationError;
+import io.swagger.oas.inflector.validators.ValidationException;
+import io.swagger.oas.inflector.validators.ValidationMessage;
+import io.swagger.oas.inflector.validators.Validator;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The converters and validators that apply to one parameter, captured from an {@link InputConverter} when an
+ * operation is set up. Built-in validators that have nothing to check for the parameter are left out, and the
+ * built-in ones that remain are called one after the other rather than through the chain iterator, against the
+ * enum values, bounds and format read from the parameter's schema once, as {@link SchemaConstraints}. When the
+ * default converter comes first, which never hands on to the rest of the chain, and the target class is a simple
+ * type, values are converted by a {@link PrimitiveCoercer} picked for that class. Failed conversions and missing
+ * required values throw an exception created with the pipeline, without a stack trace.
+ */
+public final class ParameterPipeline {
+    private final Parameter parameter;
+    private final Converter[] converters;
+    private final Validator[] validators;
+    private final Class<?> coercedClass;
+    private final PrimitiveCoercer coercer;
+    private final ConversionException coercionFailure;
+    private final SchemaConstraints constraints;
+    private final ValidationException missingRequired;
+
+    ParameterPipeline(Parameter parameter, List<Converter> converters, List<Validator> validators) {
+        this(parameter, null, converters, validators);
+    }
+
+    ParameterPipeline(Parameter parameter, Class<?> cls, List<Converter> converters, List<Validator> validators) {
+        this.parameter = parameter;
+        this.converters = converters.toArray(new Converter[0]);
+        this.coercer = this.converters.length > 0 && this.converters[0].getClass() == DefaultConverter.class
+                && parameter.getSchema() != null ? PrimitiveCoercer.forType(cls) : null;
+        this.coercedClass = coercer != null ? cls : null;
+        this.coercionFailure = coercer != null ? ConversionException.withoutStackTrace(new ValidationMessage()
+                .code(ValidationError.INVALID_FORMAT)
+                .message("couldn't convert `" + parameter.getName() + "` to type `" + cls + "`")) : null;
+        List<Validator> applicable = new ArrayList<>(validators.size());
+        for (Validator validator : validators) {
+            if (appliesTo(validator, parameter)) {
+                applicable.add(validator);
+            }
+        }
+        this.validators = applicable.toArray(new Validator[0]);
+        this.constraints = parameter.getSchema() != null ? SchemaConstraints.of(parameter.getSchema()) : null;
+        this.missingRequired = ValidationException.withoutStackTrace(new ValidationMessage()
+                .code(ValidationError.MISSING_REQUIRED)
+                .message("missing required " + parameter.getIn() + " parameter `" + parameter.getName() + "`"));
+    }
+
+    public Object convertAndValidate(List<String> value, Class<?> cls, Map<String, Schema> definitions) throws ConversionException, ValidationException {
+        Object output = null;
+        if (coercer != null && cls == coercedClass) {
+            output = coerce(value);
+        } else if (converters.length > 0) {
+            output = converters[0].convert(value, parameter, cls, definitions, remaining(converters, 1));
+        }
+        validate(output);
+        return output;
+    }
+
+    private Object coerce(List<String> value) throws ConversionException {
+        if (value == null || value.isEmpty() || value.get(0) == null) {
+            return null;
+        }
+        Object output = coercer.coerce(value.get(0));
+        if (output == null) {
+            throw coercionFailure;
+        }
+        return output;
+    }
+
+    public void validate(Object value) throws ValidationException {
+        for (int i = 0; i < validators.length; i++) {
+            Validator validator = validators[i];
+            if (validator.getClass() == DefaultValidator.class) {
+                // only kept for required parameters
+                if (value == null) {
+                    throw missingRequired;
+                }
+            } else if (validator.getClass() == NumericValidator.class) {
+                if (value != null && constraints != null) {
+                    ((NumericValidator) validator).validate(value, parameter, constraints);
+                }
+            } else if (validator.getClass() == StringTypeValidator.class) {
+                if (value != null && constraints != null) {
+                    ((StringTypeValidator) validator).validate(value, parameter, constraints);
+                }
+            } else {
+                // others decide themselves whether the rest of the chain runs
+                validator.validate(value, parameter, remaining(validators, i + 1));
+                return;
+            }
+        }
+    }
+
+    public Parameter getParameter() {
+        return parameter;
+    }
+
+    int getValidatorCount() {
+        return validators.length;
+    }
+
+    PrimitiveCoercer getCoercer() {
+        return coercer;
+    }
+
+    static boolean appliesTo(Validator validator, Parameter parameter) {
+        Class<?> cls = validator.getClass();
+        Schema schema = parameter.getSchema();
+        if (cls == DefaultValidator.class) {
+            return Boolean.TRUE.equals(parameter.getRequired());
+        }
+        if (cls == NumericValidator.class) {
+            return schema != null && (hasEnum(schema) || schema.getMaximum() != null || schema.getMinimum() != null);
+        }
+        if (cls == StringTypeValidator.class) {
+            return schema != null && (hasEnum(schema) || ("string".equals(schema.getType())
+                    && ("date".equals(schema.getFormat()) || "date-time".equals(schema.getFormat()))));
+        }
+        return true;
+    }
+
+    private static boolean hasEnum(Schema schema) {
+        return schema.getEnum() != null && !schema.getEnum().isEmpty();
+    }
+
+    private static <T> Iterator<T> remaining(T[] items, int from) {
+        if (from >= items.length) {
+            return Collections.emptyIterator();
+        }
+        return new Iterator<T>() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < items.length;
+            }
+
+            @Override
+            public T next() {
+                if (next >= items.length) {
+                    throw new NoSuchElementException();
+                }
+                return items[next++];
+            }
+        };
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.swagger.oas.inflector.converters;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Turns a single parameter value into one of the simple types {@link DefaultConverter#cast(String,
+ * io.swagger.v3.oas.models.media.Schema, com.fasterxml.jackson.databind.JavaType)} knows about. A coercer is
+ * looked up once for the target class, and {@link #coerce(String)} returns {@code null} instead of throwing
+ * when the value doesn't convert, so callers decide how to report the failure. Integers are checked before
+ * they are parsed, and other numbers and UUIDs are screened for obviously invalid input, which keeps the
+ * common failures from creating an exception at all.
+ */
+enum PrimitiveCoercer {
+    INTEGER(Integer.class) {
+        @Override
+        Object coerce(String argument) {
+            if (!isInteger(argument)) {
+                return null;
+            }
+            try {
+                return Integer.parseInt(argument);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    },
+    LONG(Long.class) {
+        @Override
+        Object coerce(String argument) {
+            if (!isInteger(argument)) {
+                return null;
+            }
+            try {
+                return Long.parseLong(argument);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    },
+    FLOAT(Float.class) {
+        @Override
+        Object coerce(String argument) {
+            if (!startsLikeNumber(argument)) {
+                return null;
+            }
+            try {
+                return Float.parseFloat(argument);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    },
+    DOUBLE(Double.class) {
+        @Override
+        Object coerce(String argument) {
+            if (!startsLikeNumber(argument)) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(argument);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    },
+    STRING(String.class) {
+        @Override
+        Object coerce(String argument) {
+            return argument;
+        }
+    },
+    BOOLEAN(Boolean.class) {
+        @Override
+        Object coerce(String argument) {
+            if ("1".equals(argument)) {
+                return Boolean.TRUE;
+            }
+            if ("0".equals(argument)) {
+                return Boolean.FALSE;
+            }
+            return Boolean.parseBoolean(argument);
+        }
+    },
+    UUID_VALUE(UUID.class) {
+        @Override
+        Object coerce(String argument) {
+            if (count(argument, '-') != 4) {
+                return null;
+            }
+            try {
+                return UUID.fromString(argument);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    },
+    LOCAL_DATE(LocalDate.class) {
+        @Override
+        Object coerce(String argument) {
+            try {
+                return LocalDate.parse(argument);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    },
+    DATE_TIME(DateTime.class) {
+        @Override
+        Object coerce(String argument) {
+            try {
+                return DateTime.parse(argument);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    };
+
+    private static final Map<Class<?>, PrimitiveCoercer> BY_TYPE = new IdentityHashMap<>();
+
+    static {
+        for (PrimitiveCoercer coercer : values()) {
+            BY_TYPE.put(coercer.type, coercer);
+        }
+    }
+
+    private final Class<?> type;
+
+    PrimitiveCoercer(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the coercer for the class, or {@code null} if values of that class aren't simple values
+     */
+    static PrimitiveCoercer forType(Class<?> cls) {
+        return cls == null ? null : BY_TYPE.get(cls);
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the converted value, or {@code null} if the argument isn't valid for the type
+     */
+    abstract Object coerce(String argument);
+
+    /**
+     * Same syntax as {@link Integer#parseInt(String)}: an optional sign followed by at least one digit.
+     */
+    static boolean isInteger(String argument) {
+        int length = argument.length();
+        int i = 0;
+        if (length > 0 && (argument.charAt(0) == '-' || argument.charAt(0) == '+')) {
+            i = 1;
+        }
+        if (i == length) {
+            return false;
+        }
+        for (; i < length; i++) {
+            if (Character.digit(argument.charAt(i), 10) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rejects values that {@link Double#parseDouble(String)} could never accept, judging by the first
+     * character after the whitespace it trims.
+     */
+    static boolean startsLikeNumber(String argument) {
+        for (int i = 0; i < argument.length(); i++) {
+            char c = argument.charAt(i);
+            if (c <= ' ') {
+                continue;
+            }
+            return (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' || c == 'N' || c == 'I';
+        }
+        return false;
+    }
+
+    private static int count(String argument, char c) {
+        int count = 0;
+        for (int i = 0; i < argument.length(); i++) {
+            if (argument.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -19,11 +19,15 @@ package io.swagger.oas.inflector.processors;
 import io.swagger.oas.inflector.examples.models.Example;
 import io.swagger.v3.core.util.Json;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
 
@@ -58,4 +62,23 @@ public abstract class AbstractExampleProvider implements MessageBodyWriter<Examp
     public long getSize(Example data, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return -1;
     }
+
+    /**
+     * Writes the example, from the cached bytes with an ETag when the entity annotations hold its
+     * {@link SerializedExampleCache}, and their Content-Length unless the response is content-encoded.
+     */
+    void write(Example data, Annotation[] annotations, String variant, MultivaluedMap<String, Object> headers,
+               OutputStream out, SerializedExampleCache.Serializer serializer) throws IOException {
+        SerializedExampleCache.Body body = SerializedExampleCache.get(data, annotations, variant, serializer);
+        if (body == null) {
+            out.write(serializer.serialize(data));
+            return;
+        }
+        headers.putSingle(HttpHeaders.ETAG, body.getEtag());
+        if (!headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            // an encoder wraps the stream and changes the length, the container then works it out
+            headers.putSingle(HttpHeaders.CONTENT_LENGTH, body.getBytes().length);
+        }
+        out.write(body.getBytes());
+    }
 }
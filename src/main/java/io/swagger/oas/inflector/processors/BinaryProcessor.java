@@ -17,43 +17,38 @@
 package io.swagger.oas.inflector.processors;
 
 import com.fasterxml.jackson.databind.JavaType;
-import com.google.common.io.Files;
+import io.swagger.oas.inflector.config.Configuration;
 import io.swagger.oas.inflector.controllers.OpenAPIOperationController;
 import io.swagger.oas.inflector.converters.ConversionException;
 import io.swagger.oas.inflector.validators.ValidationError;
 import io.swagger.oas.inflector.validators.ValidationException;
 import io.swagger.oas.inflector.validators.ValidationMessage;
 import io.swagger.v3.oas.models.media.Schema;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVRecord;
-import org.apache.commons.fileupload.MultipartStream;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.core.MediaType;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.Map;
-import java.util.Set;
 
 public class BinaryProcessor implements EntityProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(BinaryProcessor.class);
-    private static List<MediaType> SUPPORTED_TYPES = new ArrayList<>();
+    private static final int DEFAULT_MEMORY_THRESHOLD = 10240;
+    private static List<MediaType> SUPPORTED_TYPES = new CopyOnWriteArrayList<>();
 
     static {
         SUPPORTED_TYPES.add(MediaType.APPLICATION_OCTET_STREAM_TYPE);
@@ -63,7 +58,7 @@ public class BinaryProcessor implements EntityProcessor {
 
     @Override
     public List<MediaType> getSupportedMediaTypes() {
-        return new ArrayList(SUPPORTED_TYPES);
+        return Collections.unmodifiableList(SUPPORTED_TYPES);
     }
 
     @Override
@@ -91,42 +86,34 @@ public class BinaryProcessor implements EntityProcessor {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Without a request to delete temporary files with, parts are kept in memory, and files created for
+     * {@code File} arguments belong to the caller, who deletes them together with their directory.
+     */
     @Override
     public  Object process(MediaType mediaType, InputStream entityStream, Class<?> cls, OpenAPIOperationController controller) throws ConversionException {
+        TemporaryFiles temporaryFiles = new TemporaryFiles();
+        try {
+            return process(mediaType, entityStream, cls, controller, temporaryFiles, Integer.MAX_VALUE);
+        } finally {
+            temporaryFiles.release();
+        }
+    }
+
+    @Override
+    public Object process(MediaType mediaType, InputStream entityStream, Class<?> cls, OpenAPIOperationController controller, TemporaryFiles temporaryFiles) throws ConversionException {
+        Configuration config = controller.getConfiguration();
+        return process(mediaType, entityStream, cls, controller, temporaryFiles,
+                config != null ? config.getMultipartMemoryThreshold() : DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    private Object process(MediaType mediaType, InputStream entityStream, Class<?> cls, OpenAPIOperationController controller, TemporaryFiles temporaryFiles, int threshold) throws ConversionException {
         Object argument = null;
-        Map<String, String> headers = new HashMap<>();
-        String name = null;
-        Map<String, Map<String, String>> formMap = new HashMap<>();
-        Map<String, File> inputStreams = new HashMap<>();
         List<ValidationMessage> missingParams = new ArrayList<>();
         Object[] args = new Object[controller.getParameterClasses().length];
         try {
             if (mediaType.equals(MediaType.APPLICATION_OCTET_STREAM_TYPE)) {
-
-                JavaType[] parameters = controller.getParameterClasses();
-                for (int i = 0; i < parameters.length; i++) {
-                    //validate if its File, byte[] or inputStream and change it to the implemented method
-                    if (parameters[i].getRawClass().equals(InputStream.class)){
-
-                        argument = new ByteArrayInputStream(IOUtils.toByteArray(entityStream));
-
-                    }else if (parameters[i].getRawClass().equals(File.class)) {
-
-                        File file = File.createTempFile("inflector", ".tmp");
-                        file.deleteOnExit();
-
-                        FileUtils.copyInputStreamToFile(entityStream, file);
-
-                        argument = file;
-
-                    }else if (parameters[i].getRawClass().equals(byte[].class)){
-
-                        argument = IOUtils.toByteArray(entityStream);
-
-                    }
-                }
-
-                return argument;
+                return readOctetStream(entityStream, octetStreamType(cls, controller), temporaryFiles);
 
             }else if (mediaType.isCompatible(MediaType.MULTIPART_FORM_DATA_TYPE)){
                 int i =
@@ -135,90 +122,7 @@ public class BinaryProcessor implements EntityProcessor {
                                 .getParameters() == null || controller
                                         .getOperation().getParameters().isEmpty())? 1 : 1 + controller
                                 .getOperation().getParameters().size();
-                // get the boundary
-                String boundary = mediaType.getParameters().get("boundary");
-
-                if (boundary != null) {
-                    try {
-                        InputStream inputStream = entityStream;
-
-                        MultipartStream multipartStream = new MultipartStream(inputStream, boundary.getBytes());
-                        boolean nextPart = multipartStream.skipPreamble();
-                        while (nextPart) {
-                            String header = multipartStream.readHeaders();
-                            // process headers
-                            if (header != null) {
-                                CSVFormat format = CSVFormat.DEFAULT
-                                        .withDelimiter(';')
-                                        .withRecordSeparator("=");
-
-                                Iterable<CSVRecord> records = format.parse(new StringReader(header));
-                                for (CSVRecord r : records) {
-                                    for (int j = 0; j < r.size(); j++) {
-                                        String string = r.get(j);
-
-                                        Iterable<CSVRecord> outerString = CSVFormat.DEFAULT
-                                                .withDelimiter('=')
-                                                .parse(new StringReader(string));
-                                        for (CSVRecord outerKvPair : outerString) {
-                                            if (outerKvPair.size() == 2) {
-                                                String key = outerKvPair.get(0).trim();
-                                                String value = outerKvPair.get(1).trim();
-                                                if ("name".equals(key)) {
-                                                    name = value;
-                                                }
-                                                headers.put(key, value);
-                                            } else {
-                                                Iterable<CSVRecord> innerString = CSVFormat.DEFAULT
-                                                        .withDelimiter(':')
-                                                        .parse(new StringReader(string));
-                                                for (CSVRecord innerKVPair : innerString) {
-                                                    if (innerKVPair.size() == 2) {
-                                                        String key = innerKVPair.get(0).trim();
-                                                        String value = innerKVPair.get(1).trim();
-                                                        if ("name".equals(key)) {
-                                                            name = value;
-                                                        }
-                                                        headers.put(key, value);
-                                                    }
-                                                }
-                                            }
-                                        }
-                                        if (name != null) {
-                                            formMap.put(name, headers);
-                                        }
-                                    }
-                                }
-                            }
-                            String filename = extractFilenameFromHeaders(headers);
-                            if (filename != null) {
-                                try {
-                                    File file = new File(Files.createTempDir(), filename);
-                                    file.deleteOnExit();
-                                    file.getParentFile().deleteOnExit();
-                                    FileOutputStream fo = new FileOutputStream(file);
-                                    multipartStream.readBodyData(fo);
-                                    inputStreams.put(name, file);
-                                } catch (Exception e) {
-                                    LOGGER.error("Failed to extract uploaded file", e);
-                                }
-                            } else {
-                                ByteArrayOutputStream bo = new ByteArrayOutputStream();
-                                multipartStream.readBodyData(bo);
-                                String value = bo.toString();
-                                headers.put(name, value);
-                            }
-                            if (name != null) {
-                                formMap.put(name, headers);
-                            }
-                            headers = new HashMap<>();
-                            name = null;
-                            nextPart = multipartStream.readBoundary();
-                        }
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                }
+                Map<String, Part> parts = readParts(mediaType, entityStream, temporaryFiles, threshold);
                 try {
                     if (controller.getOperation().getRequestBody().getContent() != null) {
                         io.swagger.v3.oas.models.media.MediaType media = controller.getOperation().getRequestBody().getContent().get(MediaType.MULTIPART_FORM_DATA);
@@ -228,27 +132,23 @@ public class BinaryProcessor implements EntityProcessor {
                             if (schema.getProperties() != null) {
                                 Map<String, Schema> properties = schema.getProperties();
                                 for (String key : properties.keySet()) {
-                                    headers = formMap.get(key);
-                                    if (headers != null && headers.size() > 0) {
+                                    Part part = parts.get(key);
+                                    if (part != null) {
+                                        JavaType jt = controller.getParameterClasses()[i];
 
                                         if ("binary".equals(properties.get(key).getFormat())) {
-                                            argument = inputStreams.get(key);
+                                            argument = part.toArgument(jt != null ? jt.getRawClass() : null);
 
                                         } else {
-                                            Object obj = headers.get(key);
-
-                                            if (obj != null) {
-                                                JavaType jt = controller.getParameterClasses()[i];
-                                                cls = jt.getRawClass();
-
-                                                List<String> stringHeaders = Arrays.asList(obj.toString());
-                                                try {
-                                                    argument = controller.getValidator().convertAndValidate(stringHeaders, controller.getOperation().getRequestBody(), cls, null, controller.getDefinitions());
-                                                } catch (ConversionException e) {
-                                                    missingParams.add(e.getError());
-                                                } catch (ValidationException e) {
-                                                    missingParams.add(e.getValidationMessage());
-                                                }
+                                            cls = jt.getRawClass();
+
+                                            List<String> stringHeaders = Arrays.asList(part.getValue());
+                                            try {
+                                                argument = controller.getValidator().convertAndValidate(stringHeaders, controller.getOperation().getRequestBody(), cls, null, controller.getDefinitions());
+                                            } catch (ConversionException e) {
+                                                missingParams.add(e.getError());
+                                            } catch (ValidationException e) {
+                                                missingParams.add(e.getValidationMessage());
                                             }
                                         }
                                     }
@@ -266,63 +166,25 @@ public class BinaryProcessor implements EntityProcessor {
                 return args;
 
             }else if (mediaType.isCompatible(MediaType.APPLICATION_FORM_URLENCODED_TYPE)){
-                int i = 1;
-                Set<String> existingKeys = new HashSet<>();
-                String formDataString = null;
-                String[] parts = null;
-                try {
-                    formDataString = IOUtils.toString(entityStream, "UTF-8");
-                    parts = formDataString.split("&");
-
-                    for (String part : parts) {
-                        String[] kv = part.split("=");
-                        existingKeys.add(kv[0] + ": fp");
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
+                FormFields fields = controller.getFormFields();
+                if (fields == null) {
+                    fields = FormFields.compile(controller.getOperation(), MediaType.APPLICATION_FORM_URLENCODED, controller.getParameterClasses());
                 }
-
-                io.swagger.v3.oas.models.media.MediaType media = controller.getOperation().getRequestBody().getContent().get(mediaType.APPLICATION_FORM_URLENCODED);
-                if (formDataString != null && media.getSchema() != null ) {
-                    Schema schema = media.getSchema();
-                    if (schema.getProperties() != null) {
-                        Map<String, Schema> properties = schema.getProperties();
-                        for (String property : properties.keySet()) {
-                            for (String part : parts) {
-                                String[] kv = part.split("=");
-                                if (kv != null) {
-                                    if (kv.length > 0) {
-                                        existingKeys.remove(kv[0] + ": fp");
-                                    }
-                                    if (kv.length == 2) {
-                                        String key = kv[0];
-                                        try {
-                                            String value = URLDecoder.decode(kv[1], "utf-8");
-                                            if (property.equals(key)) {
-                                                JavaType jt = controller.getParameterClasses()[i];
-                                                cls = jt.getRawClass();
-                                                Class<?> innerClass = null;
-                                                if (jt.getContentType() != null) {
-                                                    innerClass = jt.getContentType().getRawClass();
-                                                }
-                                                try {
-                                                    argument = controller.getValidator().convertAndValidate(Arrays.asList(value), controller.getOperation().getRequestBody(), cls, innerClass, controller.getDefinitions());
-                                                    args[i] = argument;
-                                                } catch (ConversionException e) {
-                                                    missingParams.add(e.getError());
-                                                } catch (ValidationException e) {
-                                                    missingParams.add(e.getValidationMessage());
-                                                }
-                                            }
-                                        } catch (UnsupportedEncodingException e) {
-                                            LOGGER.error("unable to decode value for " + key);
-                                        }
-                                    }
-                                }
-                            }
-                            i++;
+                Map<String, List<String>> form = FormDecoder.decode(entityStream, charset(mediaType));
+                if (fields != null) {
+                    for (Map.Entry<String, List<String>> entry : form.entrySet()) {
+                        FormFields.Field field = fields.get(entry.getKey());
+                        List<String> values = field != null ? formValues(entry.getValue(), field) : null;
+                        if (values == null) {
+                            continue;
+                        }
+                        try {
+                            args[field.getIndex()] = controller.getValidator().convertAndValidate(values, controller.getOperation().getRequestBody(), field.getRawClass(), field.getInnerClass(), controller.getDefinitions());
+                        } catch (ConversionException e) {
+                            missingParams.add(e.getError());
+                        } catch (ValidationException e) {
+                            missingParams.add(e.getValidationMessage());
                         }
-
                     }
                 }
 
@@ -330,8 +192,7 @@ public class BinaryProcessor implements EntityProcessor {
             }
         } catch (Exception e) {
             LOGGER.trace("unable to extract entity from content-type `" + mediaType, e);
-            throw new ConversionException()
-                    .message(new ValidationMessage()
+            throw ConversionException.withoutStackTrace(new ValidationMessage()
                             .code(ValidationError.UNACCEPTABLE_VALUE)
                             .message("unable to convert input to " + cls.getCanonicalName()));
         }
@@ -354,6 +215,99 @@ public class BinaryProcessor implements EntityProcessor {
         return null;
     }
 
+    /**
+     * Empty values are left unbound. Collections get every value that was sent, anything else the last one.
+     */
+    private static List<String> formValues(List<String> values, FormFields.Field field) {
+        List<String> present = new ArrayList<>(values.size());
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                present.add(value);
+            }
+        }
+        if (present.isEmpty()) {
+            return null;
+        }
+        if (field.getInnerClass() == null && present.size() > 1) {
+            return Collections.singletonList(present.get(present.size() - 1));
+        }
+        return present;
+    }
+
+    private static Charset charset(MediaType mediaType) {
+        String charset = mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+        if (charset != null) {
+            try {
+                return Charset.forName(charset);
+            } catch (IllegalArgumentException e) {
+                LOGGER.debug("unsupported charset `" + charset + "`, decoding form as UTF-8");
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * The body's own parameter decides how the stream is handed over; older controllers that declare the body
+     * elsewhere are matched by the first parameter of a supported type.
+     */
+    private static Class<?> octetStreamType(Class<?> cls, OpenAPIOperationController controller) {
+        if (isOctetStreamType(cls)) {
+            return cls;
+        }
+        for (JavaType parameter : controller.getParameterClasses()) {
+            if (parameter != null && isOctetStreamType(parameter.getRawClass())) {
+                return parameter.getRawClass();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOctetStreamType(Class<?> cls) {
+        return InputStream.class.equals(cls) || File.class.equals(cls) || byte[].class.equals(cls);
+    }
+
+    private static Object readOctetStream(InputStream entityStream, Class<?> cls, TemporaryFiles temporaryFiles) throws IOException {
+        if (InputStream.class.equals(cls)) {
+            // the container's stream stays open until the controller has returned
+            return entityStream;
+        }
+        if (File.class.equals(cls)) {
+            File file = temporaryFiles.createFile();
+            Files.copy(entityStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        }
+        if (byte[].class.equals(cls)) {
+            return IOUtils.toByteArray(entityStream);
+        }
+        return null;
+    }
+
+    private static Map<String, Part> readParts(MediaType mediaType, InputStream entityStream,
+                                               TemporaryFiles temporaryFiles, int threshold) throws IOException {
+        Map<String, Part> parts = new HashMap<>();
+        String boundary = mediaType.getParameters().get("boundary");
+        if (boundary == null) {
+            return parts;
+        }
+        MultipartReader reader = new MultipartReader(entityStream, boundary.getBytes(StandardCharsets.ISO_8859_1));
+        while (reader.nextPart()) {
+            MultipartReader.PartHeaders headers = reader.readHeaders();
+            if (headers.getName() == null) {
+                reader.readBody(null);
+                continue;
+            }
+            SpillingOutputStream content = new SpillingOutputStream(threshold, temporaryFiles);
+            try {
+                reader.readBody(content);
+            } finally {
+                content.close();
+            }
+            // like any other form field, the last value wins
+            parts.put(headers.getName(), new Part(headers, content));
+        }
+        return parts;
+    }
+
     public static String extractFilenameFromHeaders(Map<String, String> headers) {
         String filename = headers.get("filename");
         if( StringUtils.isBlank( filename )){
@@ -372,4 +326,32 @@ public class BinaryProcessor implements EntityProcessor {
 
         return filename;
     }
+
+    /**
+     * A form field or uploaded file, which becomes a controller argument of the type the controller asks for.
+     */
+    private static final class Part {
+        private final MultipartReader.PartHeaders headers;
+        private final SpillingOutputStream content;
+
+        Part(MultipartReader.PartHeaders headers, SpillingOutputStream content) {
+            this.headers = headers;
+            this.content = content;
+        }
+
+        String getValue() throws IOException {
+            return content.toString(headers.getCharset());
+        }
+
+        Object toArgument(Class<?> cls) throws IOException {
+            if (byte[].class.equals(cls)) {
+                return content.toByteArray();
+            }
+            if (InputStream.class.equals(cls)) {
+                return content.openStream();
+            }
+            Map<String, String> disposition = Collections.singletonMap("filename", headers.getFilename());
+            return content.toFile(extractFilenameFromHeaders(disposition));
+        }
+    }
 }
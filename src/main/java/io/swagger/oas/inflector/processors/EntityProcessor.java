@@ -35,6 +35,14 @@ public interface EntityProcessor {
     Object process(MediaType mediaType, InputStream entityStream, Class<?> cls) throws ConversionException;
 
     Object process(MediaType mediaType, InputStream entityStream, Class<?> cls, OpenAPIOperationController controller) throws ConversionException;
+
+    /**
+     * Like {@link #process(MediaType, InputStream, Class, OpenAPIOperationController)}, for processors that
+     * need temporary files; those are deleted once the request has been handled.
+     */
+    default Object process(MediaType mediaType, InputStream entityStream, Class<?> cls, OpenAPIOperationController controller, TemporaryFiles temporaryFiles) throws ConversionException {
+        return process(mediaType, entityStream, cls, controller);
+    }
     
     Object process(MediaType mediaType, InputStream entityStream, JavaType javaType);
 }
@@ -25,12 +25,17 @@ import org.slf4j.LoggerFactory;
 import javax.ws.rs.core.MediaType;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class EntityProcessorFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(EntityProcessorFactory.class);
 
     private static List<EntityProcessor> PROCESSORS = new ArrayList<EntityProcessor>();
+    private static volatile Resolution RESOLUTION;
 
     static {
         // handles yaml, json, xml
@@ -40,6 +45,7 @@ public class EntityProcessorFactory {
     }
 
     public static void addProcessor(Class<?> cls, MediaType type) {
+        RESOLUTION = null;
         for(EntityProcessor entityProcessor : PROCESSORS) {
             if(entityProcessor.getClass().equals(cls)) {
                 entityProcessor.enableType(type);
@@ -56,25 +62,114 @@ public class EntityProcessorFactory {
         }
     }
 
-    public static Object readValue(MediaType mediaType, InputStream entityStream, Class<?> class1) throws ConversionException {
+    /**
+     * Resolves every media type the processors were enabled for to the processor that handles it. Called once
+     * the processors are configured; types enabled on a processor directly afterwards are only picked up the
+     * next time this is called, while {@link #addProcessor(Class, MediaType)} resolves the types again by itself.
+     */
+    public static void resolveMediaTypes() {
+        RESOLUTION = new Resolution(PROCESSORS);
+    }
+
+    /**
+     * @return the first processor that supports the media type, ignoring its parameters, or null if there is none
+     */
+    public static EntityProcessor getProcessor(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        EntityProcessor processor = resolution().processors.get(key(mediaType));
+        if (processor != null) {
+            return processor;
+        }
+        // wildcards and types nobody enabled
         for (EntityProcessor p : getProcessors()) {
             if (p.supports(mediaType)) {
-                return p.process(mediaType, entityStream, class1);
+                return p;
             }
         }
         return null;
     }
 
-    public static Object readValue(MediaType mediaType, InputStream entityStream, Class<?> class1, OpenAPIOperationController controller) throws ConversionException {
-        for (EntityProcessor p : getProcessors()) {
-            if (p.supports(mediaType)) {
-                return p.process(mediaType, entityStream, class1, controller);
+    /**
+     * Picks the content type of a response from the acceptable media types: the first one supported by the
+     * first processor that supports any of them, or else the first type of the first processor.
+     *
+     * @return the media type, or null if no processor has any
+     */
+    public static MediaType getResponseMediaType(List<MediaType> acceptableMediaTypes) {
+        Resolution resolution = resolution();
+        MediaType selected = null;
+        int selectedRank = Integer.MAX_VALUE;
+        for (MediaType mediaType : acceptableMediaTypes) {
+            Integer rank = resolution.ranks.get(getProcessor(mediaType));
+            if (rank != null && rank < selectedRank) {
+                selected = mediaType;
+                selectedRank = rank;
             }
         }
-        return null;
+        return selected != null ? selected : resolution.defaultMediaType;
+    }
+
+    public static Object readValue(MediaType mediaType, InputStream entityStream, Class<?> class1) throws ConversionException {
+        EntityProcessor p = getProcessor(mediaType);
+        return p != null ? p.process(mediaType, entityStream, class1) : null;
+    }
+
+    public static Object readValue(MediaType mediaType, InputStream entityStream, Class<?> class1, OpenAPIOperationController controller) throws ConversionException {
+        EntityProcessor p = getProcessor(mediaType);
+        return p != null ? p.process(mediaType, entityStream, class1, controller) : null;
+    }
+
+    public static Object readValue(MediaType mediaType, InputStream entityStream, Class<?> class1, OpenAPIOperationController controller, TemporaryFiles temporaryFiles) throws ConversionException {
+        EntityProcessor p = getProcessor(mediaType);
+        return p != null ? p.process(mediaType, entityStream, class1, controller, temporaryFiles) : null;
     }
 
     public static List<EntityProcessor> getProcessors() {
         return PROCESSORS;
     }
+
+    private static Resolution resolution() {
+        Resolution resolution = RESOLUTION;
+        if (resolution == null) {
+            resolution = new Resolution(PROCESSORS);
+            RESOLUTION = resolution;
+        }
+        return resolution;
+    }
+
+    private static String key(MediaType mediaType) {
+        return (mediaType.getType() + "/" + mediaType.getSubtype()).toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * The enabled media types, without parameters, mapped to their processor, and the position of each processor.
+     */
+    private static final class Resolution {
+        private final Map<String, EntityProcessor> processors = new HashMap<>();
+        private final Map<EntityProcessor, Integer> ranks = new IdentityHashMap<>();
+        private final MediaType defaultMediaType;
+
+        Resolution(List<EntityProcessor> all) {
+            MediaType first = null;
+            for (int i = 0; i < all.size(); i++) {
+                EntityProcessor processor = all.get(i);
+                ranks.put(processor, i);
+                for (MediaType supported : processor.getSupportedMediaTypes()) {
+                    if (first == null) {
+                        first = supported;
+                    }
+                    MediaType type = new MediaType(supported.getType(), supported.getSubtype());
+                    for (EntityProcessor candidate : all) {
+                        if (candidate.supports(type)) {
+                            processors.put(key(type), candidate);
+                            break;
+                        }
+                    }
+                }
+            }
+            defaultMediaType = first;
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.swagger.oas.inflector.processors;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes an {@code application/x-www-form-urlencoded} body in a single pass over its bytes. Every name and
+ * value is unescaped exactly once, and repeated names keep all of their values in the order they were sent.
+ */
+final class FormDecoder {
+    private static final byte AMPERSAND = '&';
+    private static final byte EQUALS = '=';
+    private static final byte PLUS = '+';
+    private static final byte PERCENT = '%';
+
+    private FormDecoder() {
+    }
+
+    static Map<String, List<String>> decode(InputStream in, Charset charset) throws IOException {
+        return decode(IOUtils.toByteArray(in), charset);
+    }
+
+    static Map<String, List<String>> decode(byte[] bytes, Charset charset) {
+        Map<String, List<String>> form = new LinkedHashMap<>();
+        // unescaping only ever shrinks a name or value, so one scratch buffer fits all of them
+        byte[] scratch = new byte[bytes.length];
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            int equals = -1;
+            while (end < bytes.length && bytes[end] != AMPERSAND) {
+                if (equals < 0 && bytes[end] == EQUALS) {
+                    equals = end;
+                }
+                end++;
+            }
+            if (end > start) {
+                int nameEnd = equals < 0 ? end : equals;
+                String name = unescape(bytes, start, nameEnd, scratch, charset);
+                String value = equals < 0 ? null : unescape(bytes, equals + 1, end, scratch, charset);
+                List<String> values = form.get(name);
+                if (values == null) {
+                    values = new ArrayList<>(1);
+                    form.put(name, values);
+                }
+                values.add(value);
+            }
+            start = end + 1;
+        }
+        return form;
+    }
+
+    private static String unescape(byte[] bytes, int from, int to, byte[] scratch, Charset charset) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b == PLUS) {
+                b = ' ';
+            } else if (b == PERCENT && i + 2 < to) {
+                int high = Character.digit(bytes[i + 1], 16);
+                int low = Character.digit(bytes[i + 2], 16);
+                // a malformed escape is kept as it was sent
+                if (high >= 0 && low >= 0) {
+                    b = (byte) ((high << 4) + low);
+                    i += 2;
+                }
+            }
+            scratch[length++] = b;
+        }
+        return new String(scratch, 0, length, charset);
+    }
+}
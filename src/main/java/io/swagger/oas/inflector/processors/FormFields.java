@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.swagger.oas.inflector.processors;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The properties of a form body, indexed by name, with the controller argument each one is bound to. Fields
+ * follow the operation's parameters in the order the schema declares them, like the controller's parameter
+ * classes, and are computed once per operation.
+ */
+public final class FormFields {
+    private final Map<String, Field> fields;
+
+    private FormFields(Map<String, Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @return the fields of the operation's body for the given media type, or null if it has no properties
+     */
+    public static FormFields compile(Operation operation, String mediaType, JavaType[] parameterClasses) {
+        if (operation.getRequestBody() == null || parameterClasses == null) {
+            return null;
+        }
+        Content content = operation.getRequestBody().getContent();
+        MediaType media = content != null ? content.get(mediaType) : null;
+        if (media == null || media.getSchema() == null || media.getSchema().getProperties() == null) {
+            return null;
+        }
+        Map<String, Schema> properties = media.getSchema().getProperties();
+        Map<String, Field> fields = new HashMap<>();
+        int index = operation.getParameters() == null ? 1 : 1 + operation.getParameters().size();
+        for (String name : properties.keySet()) {
+            if (index < parameterClasses.length && parameterClasses[index] != null) {
+                fields.put(name, new Field(name, index, parameterClasses[index]));
+            }
+            index++;
+        }
+        return new FormFields(Collections.unmodifiableMap(fields));
+    }
+
+    public Field get(String name) {
+        return fields.get(name);
+    }
+
+    public int size() {
+        return fields.size();
+    }
+
+    public static final class Field {
+        private final String name;
+        private final int index;
+        private final JavaType type;
+        private final Class<?> rawClass;
+        private final Class<?> innerClass;
+
+        Field(String name, int index, JavaType type) {
+            this.name = name;
+            this.index = index;
+            this.type = type;
+            this.rawClass = type.getRawClass();
+            this.innerClass = type.getContentType() != null ? type.getContentType().getRawClass() : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the position of the controller argument
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public JavaType getType() {
+            return type;
+        }
+
+        public Class<?> getRawClass() {
+            return rawClass;
+        }
+
+        public Class<?> getInnerClass() {
+            return innerClass;
+        }
+    }
+}
@@ -33,8 +33,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class JacksonProcessor implements EntityProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(JacksonProcessor.class);
@@ -42,7 +43,7 @@ public class JacksonProcessor implements EntityProcessor {
     public static MediaType APPLICATION_YAML_TYPE = new MediaType("application", "yaml");
 
     private static XmlMapper XML = new XmlMapper();
-    private static List<MediaType> SUPPORTED_TYPES = new ArrayList<>();
+    private static List<MediaType> SUPPORTED_TYPES = new CopyOnWriteArrayList<>();
 
     static {
         SUPPORTED_TYPES.add(MediaType.APPLICATION_JSON_TYPE);
@@ -50,7 +51,7 @@ public class JacksonProcessor implements EntityProcessor {
 
     @Override
     public List<MediaType> getSupportedMediaTypes() {
-        return new ArrayList(SUPPORTED_TYPES);
+        return Collections.unmodifiableList(SUPPORTED_TYPES);
     }
 
     @Override
@@ -114,8 +115,7 @@ public class JacksonProcessor implements EntityProcessor {
             }
         } catch (Exception e) {
             LOGGER.trace("unable to extract entity from content-type `" + mediaType + "` to " + cls.getCanonicalName(), e);
-            throw new ConversionException()
-                    .message(new ValidationMessage()
+            throw ConversionException.withoutStackTrace(new ValidationMessage()
                             .code(ValidationError.UNACCEPTABLE_VALUE)
                             .message("unable to convert input to " + cls.getCanonicalName()));
         }
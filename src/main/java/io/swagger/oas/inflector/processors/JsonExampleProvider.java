@@ -42,9 +42,9 @@ public class JsonExampleProvider extends AbstractExampleProvider implements Mess
                         OutputStream out) throws IOException {
       if (mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
         if (prettyPrint) {
-            out.write(Json.pretty().writeValueAsString(data).getBytes("utf-8"));
+            write(data, annotations, "json-pretty", headers, out, example -> Json.pretty().writeValueAsString(example).getBytes("utf-8"));
         } else {
-            out.write(Json.mapper().writeValueAsString(data).getBytes("utf-8"));
+            write(data, annotations, "json", headers, out, example -> Json.mapper().writeValueAsString(example).getBytes("utf-8"));
         }
       }
     }
@@ -0,0 +1,360 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.swagger.oas.inflector.processors;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a multipart body part by part, straight from the request stream. Delimiters are searched for in a
+ * fixed buffer, so a part's content is handed on as it arrives and never has to fit in memory, and part
+ * headers are split into names, values and Content-Disposition parameters from their bytes.
+ */
+final class MultipartReader {
+    static final int MAX_HEADER_SIZE = 10240;
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte DASH = '-';
+
+    private final InputStream in;
+    // CRLF--boundary; the stream is read as if it started with CRLF, so the first delimiter needs no special case
+    private final byte[] delimiter;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int head;
+    private int tail;
+    private boolean eof;
+    private boolean started;
+    private boolean inBody;
+    private boolean finished;
+
+    MultipartReader(InputStream in, byte[] boundary) {
+        if (boundary.length == 0 || boundary.length + 4 > BUFFER_SIZE / 2) {
+            throw new IllegalArgumentException("invalid multipart boundary");
+        }
+        this.in = in;
+        this.delimiter = new byte[boundary.length + 4];
+        delimiter[0] = CR;
+        delimiter[1] = LF;
+        delimiter[2] = DASH;
+        delimiter[3] = DASH;
+        System.arraycopy(boundary, 0, delimiter, 4, boundary.length);
+        buffer[0] = CR;
+        buffer[1] = LF;
+        tail = 2;
+    }
+
+    /**
+     * Moves to the next part, skipping the preamble or whatever is left of the current part.
+     *
+     * @return false once the closing delimiter has been read
+     */
+    boolean nextPart() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (!started || inBody) {
+            started = true;
+            readBody(null);
+        }
+        if (!ensure(2)) {
+            throw new IOException("multipart stream ended unexpectedly");
+        }
+        if (buffer[head] == DASH && buffer[head + 1] == DASH) {
+            finished = true;
+            return false;
+        }
+        // transport padding, then the line break that ends the delimiter line
+        while (ensure(1) && (buffer[head] == ' ' || buffer[head] == '\t')) {
+            head++;
+        }
+        if (!ensure(2) || buffer[head] != CR || buffer[head + 1] != LF) {
+            throw new IOException("malformed multipart delimiter");
+        }
+        head += 2;
+        return true;
+    }
+
+    /**
+     * Reads the headers of the current part, up to and including the blank line that ends them.
+     */
+    PartHeaders readHeaders() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        int matched = 0;
+        // an empty header section is just the blank line
+        if (ensure(2) && buffer[head] == CR && buffer[head + 1] == LF) {
+            head += 2;
+            inBody = true;
+            return new PartHeaders(new LinkedHashMap<String, String>());
+        }
+        while (matched < 4) {
+            if (!ensure(1)) {
+                throw new IOException("multipart stream ended unexpectedly");
+            }
+            byte b = buffer[head++];
+            matched = (b == (matched % 2 == 0 ? CR : LF)) ? matched + 1 : (b == CR ? 1 : 0);
+            bytes.write(b);
+            if (bytes.size() > MAX_HEADER_SIZE) {
+                throw new IOException("multipart headers exceed " + MAX_HEADER_SIZE + " bytes");
+            }
+        }
+        inBody = true;
+        return new PartHeaders(parseHeaders(bytes.toByteArray(), bytes.size() - 4));
+    }
+
+    /**
+     * Copies the content of the current part, or skips it when {@code out} is null.
+     *
+     * @return the number of bytes in the part
+     */
+    long readBody(OutputStream out) throws IOException {
+        long count = 0;
+        while (true) {
+            ensure(delimiter.length);
+            int found = indexOfDelimiter();
+            if (found >= 0) {
+                count += write(out, found - head);
+                head = found + delimiter.length;
+                inBody = false;
+                return count;
+            }
+            if (eof) {
+                throw new IOException("multipart stream ended unexpectedly");
+            }
+            // keep what could be the start of a delimiter split across reads
+            int safe = Math.max(head, tail - delimiter.length + 1);
+            count += write(out, safe - head);
+            head = safe;
+            fill();
+        }
+    }
+
+    private int write(OutputStream out, int length) throws IOException {
+        if (out != null && length > 0) {
+            out.write(buffer, head, length);
+        }
+        return length;
+    }
+
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        outer:
+        for (int i = head; i <= last; i++) {
+            if (buffer[i] != CR) {
+                continue;
+            }
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return whether at least {@code count} unread bytes are buffered
+     */
+    private boolean ensure(int count) throws IOException {
+        while (tail - head < count && !eof) {
+            fill();
+        }
+        return tail - head >= count;
+    }
+
+    private void fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int read = in.read(buffer, tail, buffer.length - tail);
+        if (read < 0) {
+            eof = true;
+        } else {
+            tail += read;
+        }
+    }
+
+    static Map<String, String> parseHeaders(byte[] bytes, int length) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        String lastName = null;
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && !(bytes[end] == CR && end + 1 < length && bytes[end + 1] == LF)) {
+                end++;
+            }
+            if (bytes[start] == ' ' || bytes[start] == '\t') {
+                // a folded line continues the previous header
+                if (lastName != null) {
+                    headers.put(lastName, headers.get(lastName) + " " + decode(bytes, start, end).trim());
+                }
+            } else {
+                int colon = start;
+                while (colon < end && bytes[colon] != ':') {
+                    colon++;
+                }
+                if (colon < end) {
+                    lastName = new String(bytes, start, colon - start, StandardCharsets.ISO_8859_1)
+                            .trim().toLowerCase(Locale.ENGLISH);
+                    headers.put(lastName, decode(bytes, colon + 1, end).trim());
+                }
+            }
+            start = end + 2;
+        }
+        return headers;
+    }
+
+    private static String decode(byte[] bytes, int from, int to) {
+        // browsers send non-ASCII file names as raw UTF-8
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the parameters of a header value like {@code form-data; name="file"; filename="a.txt"}. Quoted
+     * values may contain escaped characters, and extended {@code name*=charset''value} parameters are decoded
+     * and take the place of the plain ones.
+     */
+    static Map<String, String> parseParameters(String value) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        int length = value.length();
+        int i = value.indexOf(';');
+        while (i >= 0 && i < length) {
+            i++;
+            while (i < length && (value.charAt(i) == ' ' || value.charAt(i) == '\t')) {
+                i++;
+            }
+            int nameStart = i;
+            while (i < length && value.charAt(i) != '=' && value.charAt(i) != ';') {
+                i++;
+            }
+            String name = value.substring(nameStart, i).trim().toLowerCase(Locale.ENGLISH);
+            if (i >= length || value.charAt(i) == ';') {
+                continue;
+            }
+            i++;
+            while (i < length && (value.charAt(i) == ' ' || value.charAt(i) == '\t')) {
+                i++;
+            }
+            String parameter;
+            if (i < length && value.charAt(i) == '"') {
+                StringBuilder builder = new StringBuilder();
+                i++;
+                while (i < length && value.charAt(i) != '"') {
+                    char c = value.charAt(i++);
+                    if (c == '\\' && i < length) {
+                        c = value.charAt(i++);
+                    }
+                    builder.append(c);
+                }
+                parameter = builder.toString();
+                i = value.indexOf(';', i);
+            } else {
+                int end = value.indexOf(';', i);
+                parameter = value.substring(i, end < 0 ? length : end).trim();
+                i = end;
+            }
+            if (name.endsWith("*")) {
+                String decoded = decodeExtended(parameter);
+                if (decoded != null) {
+                    parameters.put(name.substring(0, name.length() - 1), decoded);
+                    parameters.put(name, decoded);
+                }
+            } else if (!parameters.containsKey(name + "*")) {
+                parameters.put(name, parameter);
+            }
+            if (i < 0) {
+                break;
+            }
+        }
+        return parameters;
+    }
+
+    private static String decodeExtended(String value) {
+        int charsetEnd = value.indexOf('\'');
+        int languageEnd = charsetEnd < 0 ? -1 : value.indexOf('\'', charsetEnd + 1);
+        if (languageEnd < 0) {
+            return null;
+        }
+        try {
+            String charset = value.substring(0, charsetEnd);
+            return URLDecoder.decode(value.substring(languageEnd + 1).replace("+", "%2B"),
+                    charset.isEmpty() ? "UTF-8" : charset);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The headers of one part, with lower case names.
+     */
+    static final class PartHeaders {
+        private final Map<String, String> headers;
+        private final Map<String, String> disposition;
+
+        PartHeaders(Map<String, String> headers) {
+            this.headers = headers;
+            String value = headers.get("content-disposition");
+            this.disposition = value != null ? parseParameters(value) : new LinkedHashMap<String, String>();
+        }
+
+        String getHeader(String name) {
+            return headers.get(name.toLowerCase(Locale.ENGLISH));
+        }
+
+        String getName() {
+            return disposition.get("name");
+        }
+
+        String getFilename() {
+            return disposition.get("filename");
+        }
+
+        String getContentType() {
+            return headers.get("content-type");
+        }
+
+        /**
+         * @return the charset of the part's content type, or UTF-8 when it has none
+         */
+        Charset getCharset() {
+            String contentType = getContentType();
+            if (contentType != null) {
+                String charset = parseParameters(contentType).get("charset");
+                if (charset != null) {
+                    try {
+                        return Charset.forName(charset);
+                    } catch (IllegalArgumentException e) {
+                        // fall back to the default
+                    }
+                }
+            }
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
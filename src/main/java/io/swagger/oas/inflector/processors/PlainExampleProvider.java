@@ -27,7 +27,7 @@ public class PlainExampleProvider extends AbstractExampleProvider implements Mes
                         MultivaluedMap<String, Object> headers,
                         OutputStream out) throws IOException {
         if (mediaType.isCompatible(MediaType.TEXT_PLAIN_TYPE)) {
-            out.write(data.asString().getBytes("utf-8"));
+            write(data, annotations, "plain", headers, out, example -> example.asString().getBytes("utf-8"));
         }
     }
 }
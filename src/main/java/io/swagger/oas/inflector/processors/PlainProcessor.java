@@ -12,12 +12,13 @@ import org.slf4j.LoggerFactory;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class PlainProcessor implements EntityProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlainProcessor.class);
-    private static List<MediaType> SUPPORTED_TYPES = new ArrayList<>();
+    private static List<MediaType> SUPPORTED_TYPES = new CopyOnWriteArrayList<>();
 
     static {
         SUPPORTED_TYPES.add(MediaType.TEXT_PLAIN_TYPE);
@@ -25,7 +26,7 @@ public class PlainProcessor implements EntityProcessor {
 
     @Override
     public List<MediaType> getSupportedMediaTypes() {
-        return new ArrayList(SUPPORTED_TYPES);
+        return Collections.unmodifiableList(SUPPORTED_TYPES);
     }
 
     @Override
@@ -40,7 +41,13 @@ public class PlainProcessor implements EntityProcessor {
 
     @Override
     public boolean supports(MediaType mediaType) {
-        return SUPPORTED_TYPES.contains(mediaType);
+        // parameters such as the charset don't change how the body is read
+        for (MediaType item : SUPPORTED_TYPES) {
+            if (item.getType().equalsIgnoreCase(mediaType.getType()) && item.getSubtype().equalsIgnoreCase(mediaType.getSubtype())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -54,8 +61,7 @@ public class PlainProcessor implements EntityProcessor {
             return IOUtils.toString(entityStream);
         } catch (IOException e) {
             LOGGER.trace("unable to extract entity from content-type `" + mediaType + "` to String", e);
-            throw new ConversionException()
-                    .message(new ValidationMessage()
+            throw ConversionException.withoutStackTrace(new ValidationMessage()
                             .code(ValidationError.UNACCEPTABLE_VALUE)
                             .message("unable to convert input to " + cls.getCanonicalName()));
         }
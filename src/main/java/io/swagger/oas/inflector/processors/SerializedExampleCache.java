@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.processors;
+
+import io.swagger.oas.inflector.examples.models.Example;
+import io.swagger.oas.inflector.utils.EntityTags;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serialized bodies of an example that never changes once built, such as the mock response of an operation
+ * without a controller, kept by whoever owns the example. The bytes are kept per output variant (format and
+ * pretty-printing) together with a strong ETag. The example writers find the cache among the annotations of
+ * the response entity, see {@link #annotations()}.
+ */
+public final class SerializedExampleCache implements Annotation {
+    private final Example example;
+    private final Annotation[] annotations = {this};
+    private final ConcurrentMap<String, Body> bodies = new ConcurrentHashMap<>(4);
+
+    /**
+     * @param example the example to cache the serialized forms of, which must not be modified afterwards
+     */
+    public SerializedExampleCache(Example example) {
+        this.example = example;
+    }
+
+    public Example getExample() {
+        return example;
+    }
+
+    /**
+     * @return the entity annotations to respond with the example with, which must not be modified
+     */
+    public Annotation[] annotations() {
+        return annotations;
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return SerializedExampleCache.class;
+    }
+
+    /**
+     * @return the cached body, or null if the annotations hold no cache of the example
+     */
+    static Body get(Example example, Annotation[] annotations, String variant, Serializer serializer) throws IOException {
+        if (annotations == null) {
+            return null;
+        }
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof SerializedExampleCache && ((SerializedExampleCache) annotation).example == example) {
+                return ((SerializedExampleCache) annotation).get(variant, serializer);
+            }
+        }
+        return null;
+    }
+
+    private Body get(String variant, Serializer serializer) throws IOException {
+        Body body = bodies.get(variant);
+        if (body == null) {
+            body = new Body(serializer.serialize(example));
+            Body existing = bodies.putIfAbsent(variant, body);
+            if (existing != null) {
+                body = existing;
+            }
+        }
+        return body;
+    }
+
+    interface Serializer {
+        byte[] serialize(Example example) throws IOException;
+    }
+
+    static final class Body {
+        private final byte[] bytes;
+        private final String etag;
+
+        Body(byte[] bytes) {
+            this.bytes = bytes;
+            this.etag = EntityTags.strong(bytes);
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.swagger.oas.inflector.processors;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Collects the content of a part in memory until it grows past a threshold, then moves it to a temporary file
+ * and keeps writing there.
+ */
+final class SpillingOutputStream extends OutputStream {
+    private final int threshold;
+    private final TemporaryFiles temporaryFiles;
+    private ByteArrayOutputStream memory;
+    private File file;
+    private OutputStream out;
+    private long size;
+
+    SpillingOutputStream(int threshold, TemporaryFiles temporaryFiles) {
+        this.threshold = Math.max(threshold, 0);
+        this.temporaryFiles = temporaryFiles;
+        this.memory = new ByteArrayOutputStream(Math.min(this.threshold, 1024));
+        this.out = memory;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (memory != null && size + len > threshold) {
+            spill();
+        }
+        out.write(b, off, len);
+        size += len;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (memory == null) {
+            out.close();
+        }
+    }
+
+    boolean isInMemory() {
+        return memory != null;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    byte[] toByteArray() throws IOException {
+        return memory != null ? memory.toByteArray() : Files.readAllBytes(file.toPath());
+    }
+
+    String toString(Charset charset) throws IOException {
+        return new String(toByteArray(), charset);
+    }
+
+    InputStream openStream() throws IOException {
+        if (memory != null) {
+            return new ByteArrayInputStream(memory.toByteArray());
+        }
+        return temporaryFiles.track(new FileInputStream(file));
+    }
+
+    /**
+     * @return the content as a file with the given name, which is moved rather than copied once it was spilled
+     */
+    File toFile(String filename) throws IOException {
+        File target = temporaryFiles.reserveFile(filename);
+        if (memory != null) {
+            Files.write(target.toPath(), memory.toByteArray());
+        } else {
+            out.close();
+            Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            file = target;
+        }
+        return target;
+    }
+
+    private void spill() throws IOException {
+        file = temporaryFiles.createFile();
+        OutputStream fileOut = temporaryFiles.track(new FileOutputStream(file));
+        memory.writeTo(fileOut);
+        memory = null;
+        out = fileOut;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.swagger.oas.inflector.processors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The temporary files created while reading one request. Files live in a directory of their own, created the
+ * first time a file is needed, and everything is removed again by {@link #close()} once the request has
+ * finished, after its response was written. Controllers that want to keep an uploaded file need to copy or move
+ * it.
+ */
+public final class TemporaryFiles implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemporaryFiles.class);
+
+    private final File parent;
+    private final List<File> files = new ArrayList<>();
+    private final List<Closeable> streams = new ArrayList<>();
+    private File directory;
+
+    public TemporaryFiles() {
+        this(null);
+    }
+
+    /**
+     * @param parent where the request's directory is created, or {@code null} for the system temp directory
+     */
+    public TemporaryFiles(File parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Creates an empty file with a generated name.
+     */
+    public File createFile() throws IOException {
+        return track(File.createTempFile("part", ".tmp", directory()));
+    }
+
+    /**
+     * Reserves a path with the given name that no other file of this request uses. The file itself is not
+     * created. Only the last segment of a path is used, and names that would still point outside the request's
+     * directory are replaced.
+     */
+    public File reserveFile(String filename) throws IOException {
+        if (filename != null) {
+            filename = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1);
+        }
+        if (filename == null || filename.isEmpty() || ".".equals(filename) || "..".equals(filename)) {
+            filename = "upload.tmp";
+        }
+        File file = new File(directory(), filename);
+        if (file.exists() || files.contains(file)) {
+            File unique = track(Files.createTempDirectory(directory().toPath(), "part").toFile());
+            file = new File(unique, filename);
+        }
+        return track(file);
+    }
+
+    /**
+     * Closes the stream together with the files, before they are deleted.
+     */
+    public <T extends Closeable> T track(T stream) {
+        streams.add(stream);
+        return stream;
+    }
+
+    @Override
+    public void close() {
+        for (Closeable stream : streams) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                LOGGER.debug("couldn't close stream", e);
+            }
+        }
+        streams.clear();
+        // files before the directories that hold them
+        for (int i = files.size() - 1; i >= 0; i--) {
+            delete(files.get(i));
+        }
+        files.clear();
+        if (directory != null) {
+            delete(directory);
+            directory = null;
+        }
+    }
+
+    /**
+     * Hands the files over to the caller, who deletes them together with the directory they are in, and
+     * forgets them.
+     */
+    public void release() {
+        streams.clear();
+        files.clear();
+        directory = null;
+    }
+
+    private File track(File file) {
+        files.add(file);
+        return file;
+    }
+
+    private File directory() throws IOException {
+        if (directory == null) {
+            directory = parent != null
+                    ? Files.createTempDirectory(parent.toPath(), "inflector").toFile()
+                    : Files.createTempDirectory("inflector").toFile();
+        }
+        return directory;
+    }
+
+    private static void delete(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        if (file.delete()) {
+            LOGGER.debug("deleted " + file.getPath());
+        } else {
+            LOGGER.warn("couldn't delete temporary file " + file.getPath());
+        }
+    }
+}
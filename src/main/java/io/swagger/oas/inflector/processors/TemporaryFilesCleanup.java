@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.processors;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+/**
+ * Deletes the temporary files of a request once the request has finished, after its response was written, so
+ * controllers can return an uploaded file or the stream of a spilled part as the response entity.
+ */
+public final class TemporaryFilesCleanup implements ApplicationEventListener {
+    private static final String PROPERTY = TemporaryFiles.class.getName();
+    private static final RequestEventListener CLOSE_ON_FINISH = event -> {
+        if (event.getType() == RequestEvent.Type.FINISHED) {
+            Object temporaryFiles = event.getContainerRequest().getProperty(PROPERTY);
+            if (temporaryFiles instanceof TemporaryFiles) {
+                ((TemporaryFiles) temporaryFiles).close();
+            }
+        }
+    };
+
+    /**
+     * Hands the temporary files of the request over, to be deleted when it finishes.
+     */
+    public static void register(ContainerRequestContext ctx, TemporaryFiles temporaryFiles) {
+        ctx.setProperty(PROPERTY, temporaryFiles);
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return CLOSE_ON_FINISH;
+    }
+}
@@ -28,7 +28,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.List;
 
 @Provider
 @Produces({MediaType.APPLICATION_XML})
@@ -37,13 +36,7 @@ public class XMLExampleProvider extends AbstractExampleProvider implements Messa
     @Override
     public boolean isWriteable(Class<?> type, Type genericType,
                                Annotation[] annotations, MediaType mediaType) {
-        List<EntityProcessor> processors = EntityProcessorFactory.getProcessors();
-        for(EntityProcessor p : processors) {
-            if (p.supports(mediaType)) {
-                return true;
-            }
-        }
-        return false;
+        return EntityProcessorFactory.getProcessor(mediaType) != null;
     }
 
     @Override
@@ -55,7 +48,7 @@ public class XMLExampleProvider extends AbstractExampleProvider implements Messa
                         MultivaluedMap<String, Object> headers,
                         OutputStream out) throws IOException {
         if (mediaType.isCompatible(MediaType.APPLICATION_XML_TYPE)) {
-            out.write(new XmlExampleSerializer().serialize(data).getBytes("utf-8"));
+            write(data, annotations, "xml", headers, out, example -> new XmlExampleSerializer().serialize(example).getBytes("utf-8"));
         }
     }
 }
@@ -44,7 +44,7 @@ public class YamlExampleProvider extends AbstractExampleProvider implements Mess
       if (mediaType.toString().startsWith("application/yaml")) {
           headers.remove("Content-Type");
           headers.add("Content-Type", "application/yaml");
-          out.write(Yaml.mapper().writeValueAsString(data).getBytes("utf-8"));
+          write(data, annotations, "yaml", headers, out, example -> Yaml.mapper().writeValueAsString(example).getBytes("utf-8"));
       }
     }
 }
@@ -0,0 +1,190 @@
+package io.swagger.oas.inflector.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.Error;
+import com.networknt.schema.Schema;
+import com.networknt.schema.keyword.ItemsLegacyValidator;
+import com.networknt.schema.keyword.ItemsValidator;
+import com.networknt.schema.keyword.KeywordValidator;
+import com.networknt.schema.path.NodePath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validates the items of a large array against the item schema in parallel, in chunks on the given pool, and the
+ * array itself against the rest of its schema.
+ * While other arrays wait for the pool, the items are validated on the calling thread instead. Errors carry the
+ * instance location and evaluation path they would have had validating the array as a whole, and come in the
+ * order of the items.
+ */
+final class ParallelArrayValidator {
+    // keywords that decide about items depending on the other items or on the item schema's results
+    private static final String[] ITEM_KEYWORDS = {"prefixItems", "additionalItems", "unevaluatedItems"};
+    private static final int CHUNK_SIZE = 512;
+
+    private final Schema arraySchema;
+    private final Schema itemSchema;
+    private final NodePath root;
+    private final NodePath items;
+
+    private ParallelArrayValidator(Schema arraySchema, Schema itemSchema, NodePath root) {
+        this.arraySchema = arraySchema;
+        this.itemSchema = itemSchema;
+        this.root = root;
+        this.items = root.append("items");
+    }
+
+    /**
+     * @return the validator for arrays of the schema, or null if its items can't be validated one by one
+     */
+    static ParallelArrayValidator of(Schema jsonSchema) {
+        JsonNode node = jsonSchema.getSchemaNode();
+        if (!node.isObject() || !node.has("items")) {
+            return null;
+        }
+        for (String keyword : ITEM_KEYWORDS) {
+            if (node.has(keyword)) {
+                return null;
+            }
+        }
+        jsonSchema.initializeValidators();
+        Schema itemSchema = null;
+        for (KeywordValidator validator : jsonSchema.getValidators()) {
+            if (validator instanceof ItemsValidator) {
+                itemSchema = ((ItemsValidator) validator).getSchema();
+            } else if (validator instanceof ItemsLegacyValidator) {
+                ItemsLegacyValidator items = (ItemsLegacyValidator) validator;
+                if (items.getTupleSchema() != null && !items.getTupleSchema().isEmpty()) {
+                    return null;
+                }
+                itemSchema = items.getSchema();
+            }
+        }
+        if (itemSchema == null) {
+            return null;
+        }
+        ObjectNode withoutItems = ((ObjectNode) node).deepCopy();
+        withoutItems.remove("items");
+        Schema arraySchema = SchemaValidator.getValidationSchema(withoutItems.toString());
+        if (arraySchema == null) {
+            return null;
+        }
+        return new ParallelArrayValidator(arraySchema, itemSchema,
+                new NodePath(jsonSchema.getSchemaContext().getSchemaRegistryConfig().getPathType()));
+    }
+
+    List<Error> validate(ArrayNode array, int errorLimit, ForkJoinPool pool) {
+        List<Error> errors = new ArrayList<>(SchemaValidator.validate(array, arraySchema, errorLimit));
+        if (errorLimit > SchemaValidator.NO_LIMIT && errors.size() >= errorLimit) {
+            return errors;
+        }
+        int itemLimit = errorLimit > SchemaValidator.NO_LIMIT ? errorLimit - errors.size() : SchemaValidator.NO_LIMIT;
+        if (pool.getQueuedSubmissionCount() > 0) {
+            errors.addAll(validateItems(array, 0, array.size(), itemLimit, new AtomicInteger()));
+        } else {
+            errors.addAll(pool.invoke(new Items(array, 0, array.size(), itemLimit, new AtomicInteger())));
+        }
+        if (errorLimit > SchemaValidator.NO_LIMIT && errors.size() > errorLimit) {
+            return errors.subList(0, errorLimit);
+        }
+        return errors;
+    }
+
+    /**
+     * Validates the items from {@code from} to {@code to}, stopping once {@code found} reached the limit.
+     */
+    private List<Error> validateItems(ArrayNode array, int from, int to, int errorLimit, AtomicInteger found) {
+        List<Error> errors = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int remaining = SchemaValidator.NO_LIMIT;
+            if (errorLimit > SchemaValidator.NO_LIMIT) {
+                remaining = errorLimit - found.get();
+                if (remaining <= 0) {
+                    break;
+                }
+            }
+            List<Error> itemErrors = SchemaValidator.validate(array.get(i), itemSchema, remaining);
+            if (!itemErrors.isEmpty()) {
+                found.addAndGet(itemErrors.size());
+                NodePath item = root.append(i);
+                for (Error error : itemErrors) {
+                    errors.add(rebase(error, item));
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * @return the error of the item schema validating the item at {@code item}, as validating the array found it
+     */
+    private Error rebase(Error error, NodePath item) {
+        return Error.builder()
+                .keyword(error.getKeyword())
+                .property(error.getProperty())
+                .index(error.getIndex())
+                .instanceLocation(append(item, error.getInstanceLocation()))
+                .evaluationPath(append(items, error.getEvaluationPath()))
+                .schemaLocation(error.getSchemaLocation())
+                .arguments(error.getArguments())
+                .details(error.getDetails())
+                .message(error.getMessage())
+                .messageKey(error.getMessageKey())
+                .instanceNode(error.getInstanceNode())
+                .schemaNode(error.getSchemaNode())
+                .build();
+    }
+
+    private static NodePath append(NodePath base, NodePath relative) {
+        NodePath path = base;
+        for (int i = 0; i < relative.getNameCount(); i++) {
+            Object element = relative.getElement(i);
+            path = element instanceof Integer ? path.append((Integer) element) : path.append(element.toString());
+        }
+        return path;
+    }
+
+    private final class Items extends RecursiveTask<List<Error>> {
+        private static final long serialVersionUID = 1L;
+        private final ArrayNode array;
+        private final int from;
+        private final int to;
+        private final int errorLimit;
+        // errors of all chunks, so the others stop once the limit is reached
+        private final AtomicInteger found;
+
+        Items(ArrayNode array, int from, int to, int errorLimit, AtomicInteger found) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.errorLimit = errorLimit;
+            this.found = found;
+        }
+
+        @Override
+        protected List<Error> compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return validateItems(array, from, to, errorLimit, found);
+            }
+            int middle = (from + to) >>> 1;
+            Items first = new Items(array, from, middle, errorLimit, found);
+            first.fork();
+            List<Error> second = new Items(array, middle, to, errorLimit, found).compute();
+            List<Error> errors = first.join();
+            if (errors.isEmpty()) {
+                return second;
+            }
+            if (!second.isEmpty()) {
+                errors = new ArrayList<>(errors);
+                errors.addAll(second);
+            }
+            return errors;
+        }
+    }
+}
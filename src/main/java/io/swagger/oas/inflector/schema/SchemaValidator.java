@@ -2,6 +2,7 @@ package io.swagger.oas.inflector.schema;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.networknt.schema.Error;
 import com.networknt.schema.InputFormat;
@@ -12,12 +13,22 @@ import io.swagger.v3.core.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 public class SchemaValidator {
-    static Map<String, Schema> SCHEMA_CACHE = new HashMap<>();
+    static Map<String, Schema> SCHEMA_CACHE = new ConcurrentHashMap<>();
+    // how the items of large arrays are validated in parallel, empty for schemas they can't be
+    static Map<Schema, Optional<ParallelArrayValidator>> PARALLEL_ARRAY_VALIDATORS = new ConcurrentHashMap<>();
+    public static final int NO_LIMIT = 0;
     private static final Logger LOGGER = LoggerFactory.getLogger(SchemaValidator.class);
 
     // OAS 3.0 uses JSON Schema Draft-4 (with boolean exclusiveMin/Max)
@@ -46,6 +57,7 @@ public class SchemaValidator {
             LOGGER.info("OpenAPI 3.0 detected - using JSON Schema Draft-04");
         }
         SCHEMA_CACHE.clear();
+        PARALLEL_ARRAY_VALIDATORS.clear();
     }
 
     public static OpenApiVersion getOpenApiVersion() {
@@ -53,23 +65,52 @@ public class SchemaValidator {
     }
 
     public static boolean validate(Object argument, String schema, Direction direction) {
-        try {
-            JsonNode content = Json.mapper().convertValue(argument, JsonNode.class);
-            SchemaRegistry registry = getRegistry();
+        return validate(argument, schema, direction, NO_LIMIT, NO_LIMIT);
+    }
+
+    public static boolean validate(Object argument, String schema, Direction direction, int errorLimit, int logLimit) {
+        return validate(argument, schema, direction, errorLimit, logLimit, NO_LIMIT, null);
+    }
+
+    public static boolean validate(Object argument, String schema, Direction direction, int errorLimit, int logLimit,
+                                   int parallelArrayThreshold, ForkJoinPool pool) {
+        Schema jsonSchema = getValidationSchema(schema);
+        if (jsonSchema == null) {
+            return true;
+        }
+        return validate(argument, jsonSchema, direction, errorLimit, logLimit, parallelArrayThreshold, pool);
+    }
+
+    public static boolean validate(Object argument, Schema jsonSchema, Direction direction) {
+        return validate(argument, jsonSchema, direction, NO_LIMIT, NO_LIMIT);
+    }
 
-            // For OAS 3.0, handle nullable (not in any JSON Schema draft)
-            String processedSchema = openApiVersion == OpenApiVersion.V3_0
-                    ? convertNullableForDraft04(schema)
-                    : schema;
+    /**
+     * Validates the payload, stopping once {@code errorLimit} errors were found; 1 stops at the first error and
+     * {@link #NO_LIMIT} collects them all. Of a payload that doesn't match, at most {@code logLimit} characters
+     * of the payload and of the schema are logged, all of them with {@link #NO_LIMIT}. A null argument is validated
+     * as the JSON {@code null}, so it only matches schemas that allow null.
+     */
+    public static boolean validate(Object argument, Schema jsonSchema, Direction direction, int errorLimit, int logLimit) {
+        return validate(argument, jsonSchema, direction, errorLimit, logLimit, NO_LIMIT, null);
+    }
 
-            Schema jsonSchema = registry.getSchema(processedSchema, InputFormat.JSON);
+    /**
+     * Like {@link #validate(Object, Schema, Direction, int, int)}, validating the items of arrays with at least
+     * {@code parallelArrayThreshold} of them in parallel on the pool, against the schema of their items;
+     * {@link #NO_LIMIT} or no pool validates all arrays as a whole.
+     */
+    public static boolean validate(Object argument, Schema jsonSchema, Direction direction, int errorLimit, int logLimit,
+                                   int parallelArrayThreshold, ForkJoinPool pool) {
+        try {
+            JsonNode content = toJsonNode(argument);
 
-            List<Error> errors = jsonSchema.validate(content.toString(), InputFormat.JSON);
-            if (!errors.isEmpty()) {
+            List<Error> errors = validate(content, jsonSchema, errorLimit, parallelArrayThreshold, pool);
+            if (!errors.isEmpty() && LOGGER.isWarnEnabled()) {
                 if (direction.equals(Direction.INPUT)) {
-                    LOGGER.warn("input: {}\ndoes not match schema: \n{}", content, schema);
+                    LOGGER.warn("input: {}\ndoes not match schema: \n{}", abbreviate(content, logLimit), abbreviate(jsonSchema.getSchemaNode(), logLimit));
                 } else {
-                    LOGGER.warn("response: {}\ndoes not match schema: \n{}", content, schema);
+                    LOGGER.warn("response: {}\ndoes not match schema: \n{}", abbreviate(content, logLimit), abbreviate(jsonSchema.getSchemaNode(), logLimit));
                 }
                 for (Error error : errors) {
                     LOGGER.warn("  validation error: {}", error.getMessage());
@@ -83,6 +124,68 @@ public class SchemaValidator {
         return true;
     }
 
+    static List<Error> validate(JsonNode content, Schema jsonSchema, int errorLimit) {
+        return validate(content, jsonSchema, errorLimit, NO_LIMIT, null);
+    }
+
+    static List<Error> validate(JsonNode content, Schema jsonSchema, int errorLimit, int parallelArrayThreshold, ForkJoinPool pool) {
+        if (parallelArrayThreshold > NO_LIMIT && pool != null && content.isArray() && content.size() >= parallelArrayThreshold) {
+            ParallelArrayValidator validator = PARALLEL_ARRAY_VALIDATORS.computeIfAbsent(jsonSchema,
+                    schema -> {
+                        ParallelArrayValidator items = ParallelArrayValidator.of(schema);
+                        return items != null ? Optional.of(items) : Optional.<ParallelArrayValidator>empty();
+                    }).orElse(null);
+            if (validator != null) {
+                return validator.validate((ArrayNode) content, errorLimit, pool);
+            }
+        }
+        if (errorLimit <= NO_LIMIT) {
+            return jsonSchema.validate(content);
+        }
+        LimitedErrors errors = new LimitedErrors(errorLimit);
+        try {
+            jsonSchema.validate(content, context -> context.setErrors(errors));
+        } catch (ErrorLimitReached e) {
+            // the errors found so far are all that is reported
+        }
+        return errors;
+    }
+
+    /**
+     * Writes the node as JSON, cut off after {@code limit} characters without writing the rest of it.
+     */
+    static String abbreviate(JsonNode node, int limit) {
+        if (node == null || limit <= NO_LIMIT) {
+            return String.valueOf(node);
+        }
+        LimitedWriter writer = new LimitedWriter(limit);
+        try {
+            Json.mapper().writeValue(writer, node);
+        } catch (IOException e) {
+            if (writer.isFull()) {
+                return writer + "...";
+            }
+            return String.valueOf(node);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Returns the payload as a tree for the validator, null as the JSON {@code null} like Jackson converts it.
+     * Bodies already read as a {@link JsonNode} (e.g. by the JacksonProcessor) are used as they are instead of
+     * being copied.
+     */
+    static JsonNode toJsonNode(Object argument) {
+        if (argument == null) {
+            return NullNode.getInstance();
+        }
+        if (argument instanceof JsonNode) {
+            return (JsonNode) argument;
+        }
+        JsonNode content = Json.mapper().valueToTree(argument);
+        return content == null ? NullNode.getInstance() : content;
+    }
+
     public static Schema getValidationSchema(String schema) {
         schema = schema.trim();
 
@@ -193,4 +296,78 @@ public class SchemaValidator {
             convertNullableInNode((ObjectNode) notNode);
         }
     }
+
+    /**
+     * Collects the errors of the outermost schema, ending the validation once there are enough of them. Nested
+     * schemas like the branches of anyOf collect theirs in lists of their own and only hand on the errors that count.
+     */
+    static final class LimitedErrors extends ArrayList<Error> {
+        private static final long serialVersionUID = 1L;
+        private final int limit;
+
+        LimitedErrors(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean add(Error error) {
+            super.add(error);
+            if (size() >= limit) {
+                throw ErrorLimitReached.INSTANCE;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Error> errors) {
+            for (Error error : errors) {
+                add(error);
+            }
+            return !errors.isEmpty();
+        }
+    }
+
+    static final class ErrorLimitReached extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        static final ErrorLimitReached INSTANCE = new ErrorLimitReached();
+
+        private ErrorLimitReached() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class LimitedWriter extends Writer {
+        private final StringBuilder builder = new StringBuilder();
+        private final int limit;
+
+        LimitedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        boolean isFull() {
+            return builder.length() >= limit;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int room = limit - builder.length();
+            builder.append(buffer, offset, Math.min(room, length));
+            if (length > room) {
+                throw new EOFException("log limit reached");
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
 }
@@ -19,6 +19,22 @@ public class ApiException extends RuntimeException {
 	super(error.getMessage(), cause);
 	this.error = error;
   }
+
+  /**
+   * Creates an exception that, unless asked for, has no stack trace, for errors of the client rather than
+   * the server.
+   */
+  protected ApiException(ApiError error, boolean writableStackTrace) {
+	super(error.getMessage(), null, false, writableStackTrace);
+	this.error = error;
+  }
+
+  /**
+   * @return an exception without a stack trace, for requests rejected as invalid
+   */
+  public static ApiException withoutStackTrace(ApiError error) {
+	return new ApiException(error, false);
+  }
   
   public ApiError getError() {
     return error;
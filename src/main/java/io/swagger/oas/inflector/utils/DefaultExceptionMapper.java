@@ -17,7 +17,6 @@
 package io.swagger.oas.inflector.utils;
 
 import io.swagger.oas.inflector.models.ApiError;
-import io.swagger.oas.inflector.processors.EntityProcessor;
 import io.swagger.oas.inflector.processors.EntityProcessorFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +31,6 @@ import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.ExceptionMapper;
 import javax.ws.rs.ext.Provider;
 import javax.ws.rs.ext.Providers;
-import java.util.List;
 
 @Provider
 public class DefaultExceptionMapper implements ExceptionMapper<Exception> {
@@ -57,33 +55,9 @@ public class DefaultExceptionMapper implements ExceptionMapper<Exception> {
 
         final Response.ResponseBuilder builder = Response.status(code).entity(error);
 
-        MediaType responseMediaType = null;
-        List<EntityProcessor> processors = EntityProcessorFactory.getProcessors();
-        for (EntityProcessor processor : processors) {
-            if(responseMediaType != null) {
-                break;
-            }
-            for (MediaType mt : headers.getAcceptableMediaTypes()) {
-                LOGGER.debug("checking type " + mt.toString() + " against " + processor.getClass().getName());
-                if (processor.supports(mt)) {
-                    builder.type(mt);
-                    responseMediaType = mt;
-                    break;
-                }
-            }
-        }
-
-        if(responseMediaType == null) {
-            // no match based on Accept header, use first processor in list
-            for (EntityProcessor processor : processors) {
-                List<MediaType> supportedTypes = processor.getSupportedMediaTypes();
-                if (supportedTypes.size() > 0) {
-                    MediaType mt = supportedTypes.get(0);
-                    builder.type(mt);
-                    responseMediaType = mt;
-                    break;
-                }
-            }
+        MediaType responseMediaType = EntityProcessorFactory.getResponseMediaType(headers.getAcceptableMediaTypes());
+        if (responseMediaType != null) {
+            builder.type(responseMediaType);
         }
 
         if(responseMediaType == null) {
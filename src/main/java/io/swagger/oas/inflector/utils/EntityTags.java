@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.inflector.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+public class EntityTags {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * @return a quoted strong entity tag for the bytes
+     */
+    public static String strong(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+            char[] chars = new char[digest.length * 2 + 2];
+            chars[0] = '"';
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2 + 1] = HEX[(digest[i] >> 4) & 0xf];
+                chars[i * 2 + 2] = HEX[digest[i] & 0xf];
+            }
+            chars[chars.length - 1] = '"';
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks If-None-Match header values against a quoted entity tag, using the weak comparison
+     * that applies to If-None-Match.
+     */
+    public static boolean matches(List<String> ifNoneMatch, String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String value : ifNoneMatch) {
+            for (String candidate : value.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ("*".equals(candidate) || tag.equals(candidate)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
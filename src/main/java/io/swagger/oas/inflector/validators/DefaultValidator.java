@@ -11,8 +11,7 @@ public class DefaultValidator implements Validator {
     public void validate(Object argument, Parameter parameter, Iterator<Validator> chain) throws ValidationException {
         if (Boolean.TRUE.equals(parameter.getRequired())) {
             if(argument == null) {
-                throw new ValidationException()
-                  .message(new ValidationMessage()
+                throw ValidationException.withoutStackTrace(new ValidationMessage()
                     .code(ValidationError.MISSING_REQUIRED)
                     .message("missing required " + parameter.getIn() + " parameter `" + parameter.getName() + "`"));
             }
@@ -28,8 +27,7 @@ public class DefaultValidator implements Validator {
     public void validate(Object argument, RequestBody body, Iterator<Validator> chain) throws ValidationException {
         if (Boolean.TRUE.equals(body.getRequired())) {
             if(argument == null) {
-                throw new ValidationException()
-                        .message(new ValidationMessage()
+                throw ValidationException.withoutStackTrace(new ValidationMessage()
                                 .code(ValidationError.MISSING_REQUIRED)
                                 .message("missing required  parameter"));
             }
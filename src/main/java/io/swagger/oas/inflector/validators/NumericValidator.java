@@ -8,80 +8,20 @@ import io.swagger.v3.oas.models.parameters.RequestBody;
 
 
 import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Set;
 
 public class NumericValidator implements Validator {
     public void validate(Object argument, Parameter parameter, Iterator<Validator> chain) throws ValidationException {
 
         if(argument != null && parameter.getSchema() != null) {
-
-            Set<String> allowable = validateEnum(argument, parameter.getSchema());
+            Schema schema = parameter.getSchema();
+            Set<String> allowable = validateEnum(argument, schema);
             if(allowable != null){
-                throw new ValidationException()
-                    .message(new ValidationMessage()
+                throw ValidationException.withoutStackTrace(new ValidationMessage()
                             .code(ValidationError.UNACCEPTABLE_VALUE)
                             .message(parameter.getIn() + " parameter `" + parameter.getName() + " value `" + argument + "` is not in the allowable values `" + allowable + "`"));
             }
-
-
-
-            if(parameter.getSchema().getMaximum() != null) {
-                Double value = validateFormat(argument,parameter.getSchema());
-                if(value == null){
-                    throw new ValidationException()
-                        .message(new ValidationMessage()
-                                .code(ValidationError.INVALID_FORMAT)
-                                .message(parameter.getIn() + " parameter `" + parameter.getName() + " is not a compatible number"));
-                }
-                double max = parameter.getSchema().getMaximum().doubleValue();
-                if(parameter.getSchema().getExclusiveMaximum() != null && parameter.getSchema().getExclusiveMaximum()) {
-                    if(value >= max) {
-                        throw new ValidationException()
-                          .message(new ValidationMessage()
-                              .code(ValidationError.VALUE_OVER_MAXIMUM)
-                              .message(parameter.getIn() + " parameter `" + parameter.getName() + " value `" + argument + "` is greater than maximum allowed value `" + max + "`"));
-                    }
-                }
-                else {
-                    if(value > max) {
-                        throw new ValidationException()
-                          .message(new ValidationMessage()
-                              .code(ValidationError.VALUE_OVER_MAXIMUM)
-                              .message(parameter.getIn() + " parameter `" + parameter.getName() + " value `" + argument + "` is greater or equal to maximum allowed value `" + max + "`"));
-                    }
-                }
-            }
-
-            if(parameter.getSchema().getMinimum() != null) {
-                double min = parameter.getSchema().getMinimum().doubleValue();
-                Double value = validateFormat(argument,parameter.getSchema());
-                if(value == null){
-                    throw new ValidationException()
-                            .message(new ValidationMessage()
-                                    .code(ValidationError.INVALID_FORMAT)
-                                    .message(parameter.getIn() + " parameter `" + parameter.getName() + " is not a compatible number"));
-                }
-
-                if(parameter.getSchema().getExclusiveMinimum() != null && parameter.getSchema().getExclusiveMinimum()) {
-                    if(value <= min) {
-                        throw new ValidationException()
-                          .message(new ValidationMessage()
-                              .code(ValidationError.VALUE_UNDER_MINIMUM)
-                              .message(parameter.getIn() + " parameter `" + parameter.getName() + " value `" + argument + "` is less than minimum allowed value `" + min + "`"));
-                    }
-                }
-                else {
-                    if(value < min) {
-                        throw new ValidationException()
-                          .message(new ValidationMessage()
-                              .code(ValidationError.VALUE_UNDER_MINIMUM)
-                              .message(parameter.getIn() + " parameter `" + parameter.getName() + " value `" + argument + "` is less or equal to the minimum allowed value `" + min + "`"));
-                    }
-                }
-            }
-            
+            validateBounds(argument, schema, parameter, null);
         }
         if(chain.hasNext()) {
             chain.next().validate(argument, parameter, chain);
@@ -91,12 +31,106 @@ public class NumericValidator implements Validator {
         return;
     }
 
+    /**
+     * Validates a value of the parameter against its precompiled constraints, without going on to other validators.
+     */
+    public void validate(Object argument, Parameter parameter, SchemaConstraints constraints) throws ValidationException {
+        if(!constraints.isAllowed(argument)){
+            throw ValidationException.withoutStackTrace(new ValidationMessage()
+                        .code(ValidationError.UNACCEPTABLE_VALUE)
+                        .message(parameter.getIn() + " parameter `" + parameter.getName() + " value `" + argument + "` is not in the allowable values `" + constraints.getAllowedValues() + "`"));
+        }
+        validateBounds(argument, constraints, parameter, null);
+    }
+
+    /**
+     * Checks the maximum before the minimum, parsing the value once for both.
+     */
+    private void validateBounds(Object argument, SchemaConstraints constraints, Parameter parameter, RequestBody body) throws ValidationException {
+        if(!constraints.hasBounds()) {
+            return;
+        }
+        double value = toNumber(argument, parameter, body);
+        if(constraints.hasMaximum()) {
+            validateMaximum(argument, value, constraints.getMaximum(), constraints.isExclusiveMaximum(), parameter, body);
+        }
+        if(constraints.hasMinimum()) {
+            validateMinimum(argument, value, constraints.getMinimum(), constraints.isExclusiveMinimum(), parameter, body);
+        }
+    }
+
+    /**
+     * Checks the bounds as read from the schema, for values that aren't validated against precompiled constraints.
+     */
+    private void validateBounds(Object argument, Schema schema, Parameter parameter, RequestBody body) throws ValidationException {
+        if(schema.getMaximum() == null && schema.getMinimum() == null) {
+            return;
+        }
+        double value = toNumber(argument, parameter, body);
+        if(schema.getMaximum() != null) {
+            validateMaximum(argument, value, schema.getMaximum().doubleValue(), Boolean.TRUE.equals(schema.getExclusiveMaximum()), parameter, body);
+        }
+        if(schema.getMinimum() != null) {
+            validateMinimum(argument, value, schema.getMinimum().doubleValue(), Boolean.TRUE.equals(schema.getExclusiveMinimum()), parameter, body);
+        }
+    }
 
+    private double toNumber(Object argument, Parameter parameter, RequestBody body) throws ValidationException {
+        Double value = validateFormat(argument);
+        if(value == null){
+            throw ValidationException.withoutStackTrace(new ValidationMessage()
+                        .code(ValidationError.INVALID_FORMAT)
+                        .message(subject(parameter, body) + " is not a compatible number"));
+        }
+        return value;
+    }
 
+    private void validateMaximum(Object argument, double value, double max, boolean exclusive, Parameter parameter, RequestBody body) throws ValidationException {
+        if(exclusive) {
+            if(value >= max) {
+                throw ValidationException.withoutStackTrace(new ValidationMessage()
+                      .code(ValidationError.VALUE_OVER_MAXIMUM)
+                      .message(subject(parameter, body) + " value `" + argument + "` is greater than maximum allowed value `" + max + "`"));
+            }
+        }
+        else {
+            if(value > max) {
+                throw ValidationException.withoutStackTrace(new ValidationMessage()
+                      .code(ValidationError.VALUE_OVER_MAXIMUM)
+                      .message(subject(parameter, body) + " value `" + argument + "` is greater or equal to maximum allowed value `" + max + "`"));
+            }
+        }
+    }
 
+    private void validateMinimum(Object argument, double value, double min, boolean exclusive, Parameter parameter, RequestBody body) throws ValidationException {
+        if(exclusive) {
+            if(value <= min) {
+                throw ValidationException.withoutStackTrace(new ValidationMessage()
+                      .code(ValidationError.VALUE_UNDER_MINIMUM)
+                      .message(subject(parameter, body) + " value `" + argument + "` is less than minimum allowed value `" + min + "`"));
+            }
+        }
+        else {
+            if(value < min) {
+                throw ValidationException.withoutStackTrace(new ValidationMessage()
+                      .code(ValidationError.VALUE_UNDER_MINIMUM)
+                      .message(subject(parameter, body) + " value `" + argument + "` is less or equal to the minimum allowed value `" + min + "`"));
+            }
+        }
+    }
 
+    private static String subject(Parameter parameter, RequestBody body) {
+        if(parameter != null) {
+            return parameter.getIn() + " parameter `" + parameter.getName();
+        }
+        return " parameter `" + body;
+    }
 
-    private Double validateFormat(Object argument, Schema schema) {
+    private Double validateFormat(Object argument) {
+        // the same value parsing their string would give, without the string
+        if(argument instanceof Integer || argument instanceof Long || argument instanceof Double) {
+            return ((Number) argument).doubleValue();
+        }
 
         Double value;
         try {
@@ -110,17 +144,8 @@ public class NumericValidator implements Validator {
     }
 
     public Set<String> validateEnum(Object argument, Schema schema){
-        if(schema.getEnum() != null && schema.getEnum().size() > 0) {
-            List<?> values = schema.getEnum();
-            Set<String> allowable = new LinkedHashSet<String>();
-            for(Object obj : values) {
-                allowable.add(obj.toString());
-            }
-            if(!allowable.contains(argument.toString())) {
-                return allowable;
-            }
-        }
-        return null;
+        Set<String> allowable = SchemaConstraints.allowedValues(schema);
+        return allowable == null || allowable.contains(argument.toString()) ? null : allowable;
     }
 
     public void validate(Object argument, RequestBody body, Iterator<Validator> chain) throws ValidationException {
@@ -129,68 +154,14 @@ public class NumericValidator implements Validator {
                 if (body.getContent().get(media) != null) {
                     MediaType mediaType = body.getContent().get(media);
                     if (argument != null && mediaType.getSchema() != null) {
-                        Set<String> allowable = validateEnum(argument,mediaType.getSchema());
+                        Set<String> allowable = validateEnum(argument, mediaType.getSchema());
                         if (allowable != null){
-                            throw new ValidationException()
-                                .message(new ValidationMessage()
+                            throw ValidationException.withoutStackTrace(new ValidationMessage()
                                         .code(ValidationError.UNACCEPTABLE_VALUE)
                                         .message( " parameter  value `" + argument + "` is not in the allowable values `" + allowable + "`"));
 
                         }
-                        if(mediaType.getSchema().getMaximum() != null) {
-                            Double value = validateFormat(argument,mediaType.getSchema());
-                            if(value == null){
-                                throw new ValidationException()
-                                        .message(new ValidationMessage()
-                                                .code(ValidationError.INVALID_FORMAT)
-                                                .message(" parameter `" + body + " is not a compatible number"));
-                            }
-                            double max = mediaType.getSchema().getMaximum().doubleValue();
-                            if(mediaType.getSchema().getExclusiveMaximum() != null && mediaType.getSchema().getExclusiveMaximum()) {
-                                if(value >= max) {
-                                    throw new ValidationException()
-                                            .message(new ValidationMessage()
-                                                    .code(ValidationError.VALUE_OVER_MAXIMUM)
-                                                    .message(" parameter `" + body + " value `" + argument + "` is greater than maximum allowed value `" + max + "`"));
-                                }
-                            }
-                            else {
-                                if(value > max) {
-                                    throw new ValidationException()
-                                            .message(new ValidationMessage()
-                                                    .code(ValidationError.VALUE_OVER_MAXIMUM)
-                                                    .message(" parameter `" + body + " value `" + argument + "` is greater or equal to maximum allowed value `" + max + "`"));
-                                }
-                            }
-                        }
-
-                        if(mediaType.getSchema().getMinimum() != null) {
-                            double min = mediaType.getSchema().getMinimum().doubleValue();
-                            Double value = validateFormat(argument,mediaType.getSchema());
-                            if(value == null){
-                                throw new ValidationException()
-                                        .message(new ValidationMessage()
-                                                .code(ValidationError.INVALID_FORMAT)
-                                                .message( " parameter `" + body+ " is not a compatible number"));
-                            }
-
-                            if(mediaType.getSchema().getExclusiveMinimum() != null && mediaType.getSchema().getExclusiveMinimum()) {
-                                if(value <= min) {
-                                    throw new ValidationException()
-                                            .message(new ValidationMessage()
-                                                    .code(ValidationError.VALUE_UNDER_MINIMUM)
-                                                    .message(" parameter `" + body + " value `" + argument + "` is less than minimum allowed value `" + min + "`"));
-                                }
-                            }
-                            else {
-                                if(value < min) {
-                                    throw new ValidationException()
-                                            .message(new ValidationMessage()
-                                                    .code(ValidationError.VALUE_UNDER_MINIMUM)
-                                                    .message(" parameter `" + body + " value `" + argument + "` is less or equal to the minimum allowed value `" + min + "`"));
-                                }
-                            }
-                        }
+                        validateBounds(argument, mediaType.getSchema(), null, body);
                     }
                 }
             }
@@ -202,4 +173,4 @@ public class NumericValidator implements Validator {
 
         return;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package io.swagger.oas.inflector.validators;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The constraints of a schema that {@link NumericValidator} and {@link StringTypeValidator} check, read from the
+ * schema once: the allowed values as strings, the bounds as doubles and whether the value must be a date. The
+ * schema must not be changed afterwards.
+ */
+public final class SchemaConstraints {
+    private final Set<String> allowedValues;
+    private final boolean hasMaximum;
+    private final double maximum;
+    private final boolean exclusiveMaximum;
+    private final boolean hasMinimum;
+    private final double minimum;
+    private final boolean exclusiveMinimum;
+    private final String format;
+    private final boolean date;
+
+    private SchemaConstraints(Schema schema) {
+        Set<String> allowable = allowedValues(schema);
+        allowedValues = allowable != null ? Collections.unmodifiableSet(allowable) : null;
+        hasMaximum = schema.getMaximum() != null;
+        maximum = hasMaximum ? schema.getMaximum().doubleValue() : 0;
+        exclusiveMaximum = Boolean.TRUE.equals(schema.getExclusiveMaximum());
+        hasMinimum = schema.getMinimum() != null;
+        minimum = hasMinimum ? schema.getMinimum().doubleValue() : 0;
+        exclusiveMinimum = Boolean.TRUE.equals(schema.getExclusiveMinimum());
+        format = schema.getFormat();
+        date = isDate(schema);
+    }
+
+    /**
+     * @return the enum values of the schema as strings, in its order, or null if it has none
+     */
+    static Set<String> allowedValues(Schema schema) {
+        List<?> values = schema.getEnum();
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        Set<String> allowable = new LinkedHashSet<>();
+        for (Object value : values) {
+            allowable.add(value.toString());
+        }
+        return allowable;
+    }
+
+    static boolean isDate(Schema schema) {
+        return "string".equals(schema.getType()) && ("date".equals(schema.getFormat()) || "date-time".equals(schema.getFormat()));
+    }
+
+    public static SchemaConstraints of(Schema schema) {
+        return new SchemaConstraints(schema);
+    }
+
+    /**
+     * @return the allowed values in the order of the schema, or null if any value is allowed
+     */
+    public Set<String> getAllowedValues() {
+        return allowedValues;
+    }
+
+    public boolean isAllowed(Object argument) {
+        return allowedValues == null || allowedValues.contains(argument.toString());
+    }
+
+    public boolean hasBounds() {
+        return hasMaximum || hasMinimum;
+    }
+
+    public boolean hasMaximum() {
+        return hasMaximum;
+    }
+
+    public double getMaximum() {
+        return maximum;
+    }
+
+    public boolean isExclusiveMaximum() {
+        return exclusiveMaximum;
+    }
+
+    public boolean hasMinimum() {
+        return hasMinimum;
+    }
+
+    public double getMinimum() {
+        return minimum;
+    }
+
+    public boolean isExclusiveMinimum() {
+        return exclusiveMinimum;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @return whether values must be dates, for the {@code date} and {@code date-time} formats of strings
+     */
+    public boolean isDate() {
+        return date;
+    }
+}
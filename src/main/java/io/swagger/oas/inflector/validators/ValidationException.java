@@ -4,6 +4,25 @@ public class ValidationException extends Exception {
   private static final long serialVersionUID = 1785425151365385107L;
   private ValidationMessage message;
 
+  public ValidationException() {}
+
+  /**
+   * Creates an exception that already carries its message and, unless asked for, no stack trace, so it can
+   * be created once and thrown for every request failing the same way.
+   */
+  protected ValidationException(ValidationMessage message, boolean writableStackTrace) {
+      super(null, null, false, writableStackTrace);
+      this.message = message;
+  }
+
+  /**
+   * @return an exception without a stack trace, for values a client sent that don't match their schema; its
+   * message can't be changed, so the exception can be shared
+   */
+  public static ValidationException withoutStackTrace(ValidationMessage message) {
+      return new Shared(message.unmodifiable());
+  }
+
   public ValidationException message(ValidationMessage message) {
       this.message = message;
       return this;
@@ -12,4 +31,17 @@ public class ValidationException extends Exception {
   public ValidationMessage getValidationMessage() {
       return message;
   } 
-}
\ No newline at end of file
+
+  private static final class Shared extends ValidationException {
+      private static final long serialVersionUID = 1L;
+
+      Shared(ValidationMessage message) {
+          super(message, false);
+      }
+
+      @Override
+      public ValidationException message(ValidationMessage message) {
+          throw new UnsupportedOperationException("shared validation exception");
+      }
+  }
+}
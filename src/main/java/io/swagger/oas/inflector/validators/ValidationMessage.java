@@ -26,4 +26,43 @@ public class ValidationMessage {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    /**
+     * @return a copy of this message that can't be changed, to be shared between requests
+     */
+    public ValidationMessage unmodifiable() {
+        return new Unmodifiable(code, message);
+    }
+
+    private static final class Unmodifiable extends ValidationMessage {
+        Unmodifiable(ValidationError code, String message) {
+            super.setCode(code);
+            super.setMessage(message);
+        }
+
+        @Override
+        public ValidationMessage code(ValidationError code) {
+            throw new UnsupportedOperationException("shared validation message");
+        }
+
+        @Override
+        public ValidationMessage message(String message) {
+            throw new UnsupportedOperationException("shared validation message");
+        }
+
+        @Override
+        public void setCode(ValidationError code) {
+            throw new UnsupportedOperationException("shared validation message");
+        }
+
+        @Override
+        public void setMessage(String message) {
+            throw new UnsupportedOperationException("shared validation message");
+        }
+
+        @Override
+        public ValidationMessage unmodifiable() {
+            return this;
+        }
+    }
 }
\ No newline at end of file
@@ -21,9 +21,15 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.oas.inflector.config.Configuration;
 import io.swagger.oas.inflector.processors.JsonProvider;
 import io.swagger.v3.core.util.Json;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.testng.Assert.*;
 
 
@@ -64,4 +70,37 @@ public class OpenAPIInflectorTest {
         assertFalse(inflector.isRegistered(JsonProvider.class));
     }
 
+    @Test
+    public void testLoadWithOriginalExposedSpec() throws Exception {
+        Configuration configuration = Configuration.read();
+        configuration.getExposedSpecOptions().setUseOriginalNotParsed(true);
+
+        OpenAPIInflector inflector = new OpenAPIInflector(configuration);
+        boolean exposed = false;
+        for (Resource resource : inflector.getResources()) {
+            exposed |= resource.getPath().contains("/openapi.json");
+        }
+
+        assertTrue(exposed);
+        assertTrue(inflector.getResources().size() > 2);
+    }
+
+    @Test
+    public void testParallelStartupRegistersSameResources() throws Exception {
+        OpenAPIInflector sequential = new OpenAPIInflector(Configuration.read().startupParallelism(1));
+        OpenAPIInflector parallel = new OpenAPIInflector(Configuration.read().startupParallelism(4));
+
+        assertEquals(describe(parallel), describe(sequential));
+    }
+
+    private static List<String> describe(OpenAPIInflector inflector) {
+        List<String> resources = new ArrayList<>();
+        for (Resource resource : inflector.getResources()) {
+            for (ResourceMethod method : resource.getResourceMethods()) {
+                resources.add(method.getHttpMethod() + " " + resource.getPath() + " " + method.getConsumedTypes());
+            }
+        }
+        Collections.sort(resources);
+        return resources;
+    }
 }
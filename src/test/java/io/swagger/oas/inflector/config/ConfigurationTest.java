@@ -19,7 +19,15 @@ import io.swagger.oas.inflector.OpenAPIInflector;
 import io.swagger.v3.oas.models.Operation;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 public class ConfigurationTest {
 
@@ -44,6 +52,54 @@ public class ConfigurationTest {
         assertEquals(configuration.getControllerFactory().getClass(), ControllerFactoryImpl.class);
     }
 
+    @Test
+    public void testShutsDownDefaultOutputValidationExecutor() {
+        final Configuration configuration = new Configuration();
+        ExecutorService executor = configuration.getOutputValidationExecutor();
+
+        configuration.shutdownOutputValidationExecutor();
+
+        assertTrue(executor.isShutdown());
+        assertNotSame(configuration.getOutputValidationExecutor(), executor);
+        configuration.shutdownOutputValidationExecutor();
+    }
+
+    @Test
+    public void testLeavesProvidedOutputValidationExecutorRunning() {
+        final Configuration configuration = new Configuration();
+        configuration.getOutputValidationExecutor();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            configuration.setOutputValidationExecutor(executor);
+            configuration.shutdownOutputValidationExecutor();
+
+            assertFalse(executor.isShutdown());
+            assertSame(configuration.getOutputValidationExecutor(), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutsDownOnlyDefaultParallelArrayValidationPool() {
+        final Configuration configuration = new Configuration();
+        ForkJoinPool pool = configuration.getParallelArrayValidationPool();
+
+        configuration.shutdownParallelArrayValidationPool();
+        assertTrue(pool.isShutdown());
+
+        ForkJoinPool provided = new ForkJoinPool(1);
+        try {
+            configuration.setParallelArrayValidationPool(provided);
+            configuration.shutdownParallelArrayValidationPool();
+
+            assertFalse(provided.isShutdown());
+            assertSame(configuration.getParallelArrayValidationPool(), provided);
+        } finally {
+            provided.shutdown();
+        }
+    }
+
     @Test
     public void testSlashBasePath() {
         String basePath = "/";
@@ -0,0 +1,53 @@
+package io.swagger.oas.inflector.controllers;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ControllerClassIndexTest {
+
+    @AfterMethod
+    public void tearDown() {
+        ControllerClassIndex.clear();
+    }
+
+    @Test
+    public void testFindsClasses() {
+        assertSame(ControllerClassIndex.findClass(SampleController.class.getName()), SampleController.class);
+        assertNull(ControllerClassIndex.findClass("io.swagger.oas.sample.controllers.NoSuchController"));
+        assertNull(ControllerClassIndex.findClass("io.swagger.oas.sample.controllers.NoSuchController"));
+    }
+
+    @Test
+    public void testIndexesMethodsByNameAndArity() throws Exception {
+        List<Method> one = ControllerClassIndex.getMethods(SampleController.class, "get", 1);
+        List<Method> two = ControllerClassIndex.getMethods(SampleController.class, "get", 2);
+
+        assertEquals(one.size(), 2);
+        assertEquals(two.size(), 1);
+        assertEquals(two.get(0), SampleController.class.getMethod("get", String.class, Integer.class));
+        assertTrue(ControllerClassIndex.getMethods(SampleController.class, "get", 3).isEmpty());
+        assertTrue(ControllerClassIndex.getMethods(SampleController.class, "missing", 1).isEmpty());
+    }
+
+    public static class SampleController {
+        public String get(String id) {
+            return id;
+        }
+
+        public String get(Integer id) {
+            return String.valueOf(id);
+        }
+
+        public String get(String id, Integer limit) {
+            return id + limit;
+        }
+    }
+}
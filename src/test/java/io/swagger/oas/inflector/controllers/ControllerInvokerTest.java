@@ -0,0 +1,82 @@
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.models.ApiError;
+import io.swagger.oas.inflector.utils.ApiException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+public class ControllerInvokerTest {
+
+    @Test
+    public void testInvokesBoundController() throws Exception {
+        ControllerInvoker invoker = ControllerInvoker.of(new SampleController(),
+                SampleController.class.getMethod("echo", String.class, Integer.class));
+
+        assertEquals(invoker.invoke(new Object[]{"a", 2}), "a2");
+    }
+
+    @Test
+    public void testInvokesStaticMethod() throws Exception {
+        ControllerInvoker invoker = ControllerInvoker.of(new SampleController(),
+                SampleController.class.getMethod("upper", String.class));
+
+        assertEquals(invoker.invoke(new Object[]{"a"}), "A");
+    }
+
+    @Test
+    public void testWrapsControllerExceptions() throws Exception {
+        ControllerInvoker invoker = ControllerInvoker.of(new SampleController(),
+                SampleController.class.getMethod("fail"));
+        try {
+            invoker.invoke(new Object[0]);
+            fail("expected an InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertEquals(((ApiException) e.getCause()).getError().getCode(), 409);
+        }
+    }
+
+    @Test
+    public void testAdaptsPrimitiveArguments() throws Exception {
+        ControllerInvoker invoker = ControllerInvoker.of(new SampleController(),
+                SampleController.class.getMethod("sum", int.class, int.class));
+
+        assertEquals(invoker.invoke(new Object[]{2, 3}), 5);
+    }
+
+    @Test
+    public void testFallsBackToReflectionForNonPublicClasses() throws Exception {
+        HiddenController controller = new HiddenController();
+        ControllerInvoker invoker = ControllerInvoker.of(controller, HiddenController.class.getMethod("self"));
+
+        assertSame(invoker.invoke(new Object[0]), controller);
+    }
+
+    public static class SampleController {
+        public String echo(String value, Integer count) {
+            return value + count;
+        }
+
+        public int sum(int a, int b) {
+            return a + b;
+        }
+
+        public static String upper(String value) {
+            return value.toUpperCase();
+        }
+
+        public String fail() {
+            throw new ApiException(new ApiError().code(409));
+        }
+    }
+
+    static class HiddenController {
+        public Object self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.Constants;
+import io.swagger.oas.inflector.models.RequestContext;
+import io.swagger.v3.oas.models.examples.Example;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ExampleRotationTest {
+
+    @Test
+    public void testPicksFirstKnownMode() {
+        assertSame(ExampleRotation.of(Arrays.asList("unknown", "weighted", "random")), ExampleRotation.WEIGHTED);
+        assertSame(ExampleRotation.of(Collections.singletonList("sequence")), ExampleRotation.SEQUENCE);
+        assertNull(ExampleRotation.of(Collections.singletonList("unknown")));
+        assertNull(ExampleRotation.of(Collections.<String>emptyList()));
+        assertNull(ExampleRotation.of(null));
+    }
+
+    @Test
+    public void testSequenceStartsOver() {
+        ExampleSet examples = examples(1, 1, 1);
+        RequestContext request = new RequestContext();
+
+        for (int i = 0; i < 7; i++) {
+            assertEquals(ExampleRotation.SEQUENCE.select(examples, request), i % 3);
+        }
+    }
+
+    @Test
+    public void testWeightedSkipsExamplesWithoutWeight() {
+        ExampleSet examples = examples(0, 3, 1);
+
+        assertEquals(examples.totalWeight(), 4.0);
+        assertEquals(examples.atWeight(0), 1);
+        assertEquals(examples.atWeight(2.9), 1);
+        assertEquals(examples.atWeight(3), 2);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(ExampleRotation.WEIGHTED.select(examples, new RequestContext()) > 0);
+        }
+    }
+
+    @Test
+    public void testStickyKeepsClientsOnOneExample() {
+        ExampleSet examples = examples(1, 1, 1, 1);
+        RequestContext client = new RequestContext();
+        client.setRemoteAddr("10.0.0.7");
+
+        int first = ExampleRotation.STICKY.select(examples, client);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(ExampleRotation.STICKY.select(examples, client), first);
+        }
+        assertEquals(ExampleRotation.STICKY.select(examples, new RequestContext()), 0);
+    }
+
+    private static ExampleSet examples(double... weights) {
+        Map<String, Example> examples = new LinkedHashMap<>();
+        for (int i = 0; i < weights.length; i++) {
+            examples.put("example" + i, new Example().value(i)
+                    .extensions(Collections.<String, Object>singletonMap(Constants.X_INFLECTOR_EXAMPLE_WEIGHT, weights[i])));
+        }
+        return ExampleSet.of(examples);
+    }
+}
@@ -0,0 +1,63 @@
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.examples.models.Example;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class MockResponseTest {
+
+    @Test
+    public void testPrefersSuccessResponse() {
+        Operation operation = new Operation().responses(new ApiResponses()
+                .addApiResponse("default", new ApiResponse().description("error"))
+                .addApiResponse("302", new ApiResponse().description("moved"))
+                .addApiResponse("201", new ApiResponse().description("created")));
+
+        MockResponse mock = MockResponse.of(operation, new HashMap<>());
+
+        assertEquals(mock.getStatus(), 201);
+        assertEquals(mock.getResponse().getDescription(), "created");
+    }
+
+    @Test
+    public void testNoMockWithoutUsableResponse() {
+        Operation operation = new Operation().responses(new ApiResponses()
+                .addApiResponse("404", new ApiResponse().description("not found")));
+
+        assertNull(MockResponse.of(operation, new HashMap<>()));
+        assertNull(MockResponse.of(new Operation(), new HashMap<>()));
+    }
+
+    @Test
+    public void testBuildsHeadersAndReusesExamples() {
+        ObjectSchema schema = new ObjectSchema();
+        schema.addProperties("name", new StringSchema());
+        Operation operation = new Operation().responses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse()
+                        .addHeaderObject("X-Rate-Limit", new Header().schema(new IntegerSchema()))
+                        .content(new Content().addMediaType("application/json", new MediaType().schema(schema)))));
+
+        MockResponse mock = MockResponse.of(operation, new HashMap<>());
+        Example example = mock.getExample("application/json");
+
+        assertEquals(mock.getHeaders().get("X-Rate-Limit"), "0");
+        assertNotNull(example);
+        assertSame(mock.getExample("application/json"), example);
+        assertNull(mock.getExample("application/xml"));
+    }
+}
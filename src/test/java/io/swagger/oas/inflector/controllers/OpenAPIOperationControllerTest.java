@@ -16,26 +16,58 @@
 
 package io.swagger.oas.inflector.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Maps;
+import io.swagger.oas.inflector.Constants;
 import io.swagger.oas.inflector.config.Configuration;
+import io.swagger.oas.inflector.config.OutputValidationListener;
 import io.swagger.oas.inflector.models.RequestContext;
 import io.swagger.oas.inflector.processors.BinaryProcessor;
+import io.swagger.oas.inflector.schema.SchemaValidator;
+import io.swagger.oas.inflector.utils.ApiException;
 import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.testng.annotations.Test;
 
 import javax.inject.Provider;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.io.File.separatorChar;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 public class OpenAPIOperationControllerTest {
 
@@ -87,4 +119,166 @@ public class OpenAPIOperationControllerTest {
         assertSame(requestContext.getResponse(), response);
         assertEquals(requestContext.getRemoteAddr(), remoteAddr);
     }
+
+    @Test
+    public void testValidatesPayloadsAgainstPrecompiledSchemas() throws Exception {
+        Configuration config = new Configuration();
+        config.setValidatePayloads(EnumSet.of(Configuration.Direction.IN, Configuration.Direction.OUT));
+        Schema requestSchema = new ObjectSchema()
+                .addProperties("id", new IntegerSchema())
+                .addRequiredItem("id");
+        Schema responseSchema = new ArraySchema().items(new StringSchema());
+        Operation operation = new Operation()
+                .operationId("addThing")
+                .requestBody(new RequestBody().content(new Content()
+                        .addMediaType("application/json", new MediaType().schema(requestSchema))))
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse().content(new Content()
+                        .addMediaType("application/json", new MediaType().schema(responseSchema)))));
+        OpenAPIOperationController controller = new OpenAPIOperationController(config, "/things", "POST",
+                operation, "application/json", Collections.emptyMap());
+
+        controller.validate(Collections.singletonMap("id", 1), requestSchema, SchemaValidator.Direction.INPUT);
+        controller.validate(Collections.singletonList("a"), responseSchema, SchemaValidator.Direction.OUTPUT);
+        try {
+            controller.validate(Collections.singletonMap("name", "x"), requestSchema, SchemaValidator.Direction.INPUT);
+            fail("expected the input to be rejected");
+        } catch (ApiException e) {
+            assertEquals(e.getError().getCode(), 400);
+        }
+    }
+
+    @Test
+    public void testValidatesSampledOutputAsynchronously() throws Exception {
+        List<JsonNode> invalid = new CopyOnWriteArrayList<>();
+        AtomicInteger dropped = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Configuration config = new Configuration()
+                .asyncOutputValidation(true);
+        config.setValidatePayloads(EnumSet.of(Configuration.Direction.OUT));
+        config.setOutputValidationExecutor(executor);
+        config.setOutputValidationListener(new OutputValidationListener() {
+            @Override
+            public void invalidResponse(Operation operation, String responseCode, JsonNode response) {
+                invalid.add(response);
+            }
+
+            @Override
+            public void dropped(Operation operation) {
+                dropped.incrementAndGet();
+            }
+        });
+        Schema responseSchema = new ArraySchema().items(new StringSchema());
+        OpenAPIOperationController controller = new OpenAPIOperationController(config, "/things", "GET",
+                new Operation().operationId("getThings"), "application/json", Collections.emptyMap());
+
+        List<Object> entity = new ArrayList<>(Arrays.asList("a", 1));
+        controller.validateOutput(entity, Collections.singletonList(responseSchema), "200");
+        // the controller isn't held up and may go on changing the entity
+        entity.set(1, "b");
+        controller.validateOutput(entity, Collections.singletonList(responseSchema), "200");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(invalid.size(), 1);
+        assertEquals(invalid.get(0).toString(), "[\"a\",1]");
+        assertEquals(dropped.get(), 0);
+    }
+
+    @Test
+    public void testDropsOutputValidationWhenQueueIsFull() throws Exception {
+        AtomicInteger dropped = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(1));
+        Configuration config = new Configuration()
+                .asyncOutputValidation(true);
+        config.setValidatePayloads(EnumSet.of(Configuration.Direction.OUT));
+        config.setOutputValidationExecutor(executor);
+        config.setOutputValidationListener(new OutputValidationListener() {
+            @Override
+            public void invalidResponse(Operation operation, String responseCode, JsonNode response) {
+            }
+
+            @Override
+            public void dropped(Operation operation) {
+                dropped.incrementAndGet();
+            }
+        });
+        OpenAPIOperationController controller = new OpenAPIOperationController(config, "/things", "GET",
+                new Operation().operationId("getThings"), "application/json", Collections.emptyMap());
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            controller.validateOutput(Collections.singletonList("a"), Collections.singletonList(new StringSchema()), "200");
+
+            assertEquals(dropped.get(), 1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSamplesOutputPerOperation() throws Exception {
+        Configuration config = new Configuration()
+                .outputValidationSampleRate(0);
+        config.setValidatePayloads(EnumSet.of(Configuration.Direction.OUT));
+
+        Operation sampled = new Operation().operationId("getThings");
+        sampled.addExtension(Constants.X_INFLECTOR_OUTPUT_SAMPLE_RATE, 1);
+
+        assertFalse(new OpenAPIOperationController(config, "/things", "GET", new Operation().operationId("getThings"),
+                "application/json", Collections.emptyMap()).isOutputSampled());
+        assertTrue(new OpenAPIOperationController(config, "/things", "GET", sampled, "application/json",
+                Collections.emptyMap()).isOutputSampled());
+        assertFalse(new OpenAPIOperationController(new Configuration(), "/things", "GET", new Operation()
+                .operationId("getThings"), "application/json", Collections.emptyMap()).isOutputSampled());
+    }
+
+    @Test
+    public void testNegotiatesResponseContentTypePerAcceptHeader() throws Exception {
+        Operation operation = new Operation()
+                .operationId("getThing")
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse().content(new Content()
+                        .addMediaType("application/json", new MediaType().schema(new StringSchema()))
+                        .addMediaType("application/xml", new MediaType().schema(new StringSchema())))));
+        OpenAPIOperationController controller = new OpenAPIOperationController(new Configuration(), "/things", "GET",
+                operation, "application/json", Collections.emptyMap());
+
+        assertEquals(controller.identifyResponseContentType(accepting("application/xml"), operation),
+                javax.ws.rs.core.MediaType.APPLICATION_XML_TYPE);
+        assertEquals(controller.identifyResponseContentType(accepting("application/json"), operation),
+                javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE);
+        // answered from the cache
+        assertEquals(controller.identifyResponseContentType(accepting("application/xml"), operation),
+                javax.ws.rs.core.MediaType.APPLICATION_XML_TYPE);
+        // nothing matches, so the last declared type is used
+        assertEquals(controller.identifyResponseContentType(accepting("text/plain"), operation),
+                javax.ws.rs.core.MediaType.APPLICATION_XML_TYPE);
+        assertEquals(controller.identifyResponseContentType(new RequestContext()
+                        .headers(new MultivaluedHashMap<String, String>())
+                        .acceptableMediaTypes(Collections.singletonList(javax.ws.rs.core.MediaType.WILDCARD_TYPE)), operation),
+                javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE);
+        // past the cached Accept headers these are negotiated each time
+        for (int i = 0; i < 100; i++) {
+            assertEquals(controller.identifyResponseContentType(accepting("application/json; v=" + i), operation),
+                    javax.ws.rs.core.MediaType.APPLICATION_XML_TYPE);
+        }
+        assertEquals(controller.identifyResponseContentType(accepting("application/xml"), operation),
+                javax.ws.rs.core.MediaType.APPLICATION_XML_TYPE);
+    }
+
+    private static RequestContext accepting(String accept) {
+        MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle("Accept", accept);
+        return new RequestContext().headers(headers);
+    }
 }
@@ -0,0 +1,130 @@
+package io.swagger.oas.inflector.controllers;
+
+import io.swagger.oas.inflector.config.CacheableSpecFilter;
+import io.swagger.oas.inflector.config.FilterFactory;
+import io.swagger.oas.inflector.config.OpenAPIProcessor;
+import io.swagger.oas.inflector.utils.DefaultSpecFilter;
+import io.swagger.v3.core.filter.AbstractSpecFilter;
+import io.swagger.v3.core.filter.OpenAPISpecFilter;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class OpenAPIResourceControllerTest {
+    private OpenAPISpecFilter previousFilter;
+
+    @BeforeMethod
+    public void setUp() {
+        previousFilter = FilterFactory.getFilter();
+        CountingProcessor.COUNT.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FilterFactory.setFilter(previousFilter);
+    }
+
+    @Test
+    public void testServesCachedDocumentWithETag() {
+        FilterFactory.setFilter(new DefaultSpecFilter());
+        OpenAPIResourceController controller = new OpenAPIResourceController(openAPI(),
+                Collections.singletonList(CountingProcessor.class.getName()), MediaType.APPLICATION_JSON_TYPE);
+
+        Response first = controller.apply(request(new MultivaluedHashMap<>()));
+        Response second = controller.apply(request(new MultivaluedHashMap<>()));
+        String etag = first.getHeaderString(HttpHeaders.ETAG);
+
+        assertEquals(first.getStatus(), 200);
+        assertNotNull(etag);
+        assertSame(second.getEntity(), first.getEntity());
+        assertTrue(new String((byte[]) first.getEntity(), StandardCharsets.UTF_8).contains("\"title\":\"processed\""));
+        assertEquals(CountingProcessor.COUNT.get(), 1);
+
+        MultivaluedHashMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag);
+        Response notModified = controller.apply(request(headers));
+        assertEquals(notModified.getStatus(), 304);
+        assertEquals(notModified.getHeaderString(HttpHeaders.ETAG), etag);
+    }
+
+    @Test
+    public void testCachesPerDeclaredHeader() {
+        FilterFactory.setFilter(new TenantFilter());
+        OpenAPIResourceController controller = new OpenAPIResourceController(openAPI(),
+                Collections.<String>emptyList(), MediaType.APPLICATION_JSON_TYPE);
+
+        Object a = controller.apply(request(tenant("a"))).getEntity();
+        Object b = controller.apply(request(tenant("b"))).getEntity();
+
+        assertSame(controller.apply(request(tenant("a"))).getEntity(), a);
+        assertNotSame(b, a);
+    }
+
+    @Test
+    public void testFiltersEachRequestWithoutContract() {
+        FilterFactory.setFilter(new AbstractSpecFilter() {
+        });
+        OpenAPIResourceController controller = new OpenAPIResourceController(openAPI(),
+                Collections.singletonList(CountingProcessor.class.getName()), MediaType.APPLICATION_JSON_TYPE);
+
+        Response response = controller.apply(request(new MultivaluedHashMap<>()));
+        controller.apply(request(new MultivaluedHashMap<>()));
+
+        assertTrue(response.getEntity() instanceof OpenAPI);
+        assertEquals(CountingProcessor.COUNT.get(), 1);
+    }
+
+    private static OpenAPI openAPI() {
+        return new OpenAPI().info(new Info().title("sample").version("1.0"));
+    }
+
+    private static MultivaluedHashMap<String, String> tenant(String value) {
+        MultivaluedHashMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle("X-Tenant", value);
+        return headers;
+    }
+
+    private static ContainerRequestContext request(MultivaluedHashMap<String, String> headers) {
+        ContainerRequestContext ctx = mock(ContainerRequestContext.class);
+        when(ctx.getHeaders()).thenReturn(headers);
+        when(ctx.getCookies()).thenReturn(Collections.emptyMap());
+        return ctx;
+    }
+
+    public static class CountingProcessor implements OpenAPIProcessor {
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public void process(OpenAPI openAPI) {
+            COUNT.incrementAndGet();
+            openAPI.getInfo().setTitle("processed");
+        }
+    }
+
+    static class TenantFilter extends AbstractSpecFilter implements CacheableSpecFilter {
+        @Override
+        public Set<String> getCacheKeyHeaders() {
+            return Collections.singleton("X-Tenant");
+        }
+    }
+}
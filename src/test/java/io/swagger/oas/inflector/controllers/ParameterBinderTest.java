@@ -0,0 +1,77 @@
+package io.swagger.oas.inflector.controllers;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.swagger.oas.inflector.converters.InputConverter;
+import io.swagger.oas.inflector.models.RequestContext;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.CookieParameter;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class ParameterBinderTest {
+    private final TypeFactory tf = Json.mapper().getTypeFactory();
+
+    @Test
+    public void testBindsEachSource() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+        JavaType[] types = new JavaType[]{
+                tf.constructType(RequestContext.class),
+                tf.constructType(Integer.class),
+                tf.constructType(String.class),
+                tf.constructType(String.class),
+                tf.constructType(String.class)
+        };
+        ParameterBinder[] binders = ParameterBinder.compile(Arrays.<Parameter>asList(
+                new QueryParameter().name("limit").schema(new IntegerSchema()),
+                new PathParameter().name("id").schema(new StringSchema()),
+                new HeaderParameter().name("X-Trace").schema(new StringSchema()),
+                new CookieParameter().name("session").schema(new StringSchema())), types, converter);
+
+        MultivaluedMap<String, String> query = new MultivaluedHashMap<>();
+        query.putSingle("limit", "10");
+        MultivaluedMap<String, String> path = new MultivaluedHashMap<>();
+        path.putSingle("id", "abc");
+        MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle("X-Trace", "t-1");
+        ContainerRequestContext ctx = mock(ContainerRequestContext.class);
+        when(ctx.getHeaders()).thenReturn(headers);
+        when(ctx.getCookies()).thenReturn(Collections.singletonMap("session", new Cookie("session", "s-1")));
+
+        assertEquals(binders.length, 4);
+        assertEquals(binders[0].getIndex(), 1);
+        assertEquals(binders[0].bind(ctx, query, path, null), 10);
+        assertEquals(binders[1].bind(ctx, query, path, null), "abc");
+        assertEquals(binders[2].bind(ctx, query, path, null), "t-1");
+        assertEquals(binders[3].bind(ctx, query, path, null), "s-1");
+    }
+
+    @Test
+    public void testUnknownLocationBindsNull() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+        Parameter parameter = new Parameter().name("x").schema(new StringSchema());
+        ParameterBinder[] binders = ParameterBinder.compile(Collections.singletonList(parameter),
+                new JavaType[]{tf.constructType(RequestContext.class), tf.constructType(String.class)}, converter);
+
+        assertNull(binders[0].getSource());
+        assertNull(binders[0].bind(mock(ContainerRequestContext.class), new MultivaluedHashMap<>(),
+                new MultivaluedHashMap<>(), null));
+    }
+}
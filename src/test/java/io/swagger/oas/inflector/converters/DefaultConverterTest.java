@@ -0,0 +1,46 @@
+package io.swagger.oas.inflector.converters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public class DefaultConverterTest {
+
+    @Test
+    public void testJsonDetectionMatchesTreeParsing() {
+        for (String value : Arrays.asList("", "  ", "{}", " {\"a\": 1}", "[1, 2]", "\"text\"", "42", "-1.5e3",
+                "true", "null", "nope", "abc", "{\"a\":", "[1,", "1 trailing", "2017-01-01", "{'a': 1}", "#1")) {
+            assertEquals(DefaultConverter.isJson(value), readsAsTree(value), "for `" + value + "`");
+        }
+    }
+
+    @Test
+    public void testCoercesJsonBody() throws Exception {
+        RequestBody body = new RequestBody().content(new Content()
+                .addMediaType("application/json", new MediaType().schema(new ObjectSchema())));
+
+        Object value = new DefaultConverter().coerceValue(
+                Collections.singletonList("{\"name\": \"fido\", \"weight\": 12.50}"), body, Map.class, null);
+
+        assertEquals(value, new ObjectMapper().readValue("{\"name\": \"fido\", \"weight\": 12.50}", Map.class));
+    }
+
+    private static boolean readsAsTree(String value) {
+        try {
+            new ObjectMapper().readTree(value);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
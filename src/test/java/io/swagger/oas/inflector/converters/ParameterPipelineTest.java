@@ -0,0 +1,207 @@
+package io.swagger.oas.inflector.converters;
+
+import io.swagger.oas.inflector.validators.NumericValidator;
+import io.swagger.oas.inflector.validators.ValidationError;
+import io.swagger.oas.inflector.validators.ValidationException;
+import io.swagger.oas.inflector.validators.ValidationMessage;
+import io.swagger.oas.inflector.validators.Validator;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+public class ParameterPipelineTest {
+
+    @Test
+    public void testSkipsValidatorsWithNothingToCheck() {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+
+        assertEquals(converter.compile(new QueryParameter().name("q").schema(new StringSchema())).getValidatorCount(), 0);
+        assertEquals(converter.compile(new QueryParameter().name("d").schema(new DateSchema())).getValidatorCount(), 1);
+        assertEquals(converter.compile(new QueryParameter().name("n").required(true)
+                .schema(new IntegerSchema().maximum(new BigDecimal(10)))).getValidatorCount(), 2);
+    }
+
+    @Test
+    public void testConvertsAndValidates() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+        ParameterPipeline pipeline = converter.compile(new QueryParameter().name("n")
+                .schema(new IntegerSchema().maximum(new BigDecimal(10))));
+
+        assertEquals(pipeline.convertAndValidate(Collections.singletonList("5"), Integer.class, null), 5);
+        try {
+            pipeline.convertAndValidate(Collections.singletonList("11"), Integer.class, null);
+            fail("expected a ValidationException");
+        } catch (ValidationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCoercesSimpleTypesWithSharedFailure() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+        ParameterPipeline pipeline = converter.compile(new QueryParameter().name("limit")
+                .schema(new IntegerSchema()), Integer.class);
+
+        assertSame(pipeline.getCoercer(), PrimitiveCoercer.INTEGER);
+        assertEquals(pipeline.convertAndValidate(Collections.singletonList("5"), Integer.class, null), 5);
+        assertNull(pipeline.convertAndValidate(null, Integer.class, null));
+        ConversionException first = null;
+        for (int i = 0; i < 2; i++) {
+            try {
+                pipeline.convertAndValidate(Collections.singletonList("five"), Integer.class, null);
+                fail("expected a ConversionException");
+            } catch (ConversionException e) {
+                assertEquals(e.getError().getCode(), ValidationError.INVALID_FORMAT);
+                assertEquals(e.getStackTrace().length, 0);
+                if (first == null) {
+                    first = e;
+                } else {
+                    assertSame(e, first);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsMissingRequiredValuesWithSharedFailure() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+        ParameterPipeline pipeline = converter.compile(new QueryParameter().name("q").required(true)
+                .schema(new StringSchema()), String.class);
+
+        ValidationException first = null;
+        for (int i = 0; i < 2; i++) {
+            try {
+                pipeline.convertAndValidate(null, String.class, null);
+                fail("expected a ValidationException");
+            } catch (ValidationException e) {
+                assertEquals(e.getValidationMessage().getCode(), ValidationError.MISSING_REQUIRED);
+                assertEquals(e.getValidationMessage().getMessage(), "missing required query parameter `q`");
+                assertEquals(e.getStackTrace().length, 0);
+                if (first == null) {
+                    first = e;
+                } else {
+                    assertSame(e, first);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSharedFailuresCantBeChanged() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+        ParameterPipeline pipeline = converter.compile(new QueryParameter().name("q").required(true)
+                .schema(new IntegerSchema()), Integer.class);
+
+        try {
+            pipeline.convertAndValidate(null, Integer.class, null);
+            fail("expected a ValidationException");
+        } catch (ValidationException e) {
+            assertUnmodifiable(e.getValidationMessage());
+            try {
+                e.message(new ValidationMessage());
+                fail("expected the shared exception to keep its message");
+            } catch (UnsupportedOperationException expected) {
+                // expected
+            }
+        }
+        try {
+            pipeline.convertAndValidate(Collections.singletonList("one"), Integer.class, null);
+            fail("expected a ConversionException");
+        } catch (ConversionException e) {
+            assertUnmodifiable(e.getError());
+            try {
+                e.message(new ValidationMessage());
+                fail("expected the shared exception to keep its message");
+            } catch (UnsupportedOperationException expected) {
+                // expected
+            }
+        }
+    }
+
+    private static void assertUnmodifiable(ValidationMessage message) {
+        String text = message.getMessage();
+        try {
+            message.setMessage("changed");
+            fail("expected the shared message to be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(message.getMessage(), text);
+        }
+    }
+
+    @Test
+    public void testCustomConverterDisablesCoercion() throws Exception {
+        InputConverter converter = new InputConverter();
+        converter.addConverter(new UpperCaseConverter());
+        ParameterPipeline pipeline = converter.compile(new QueryParameter().name("q")
+                .schema(new StringSchema()), String.class);
+
+        assertNull(pipeline.getCoercer());
+        assertEquals(pipeline.convertAndValidate(Collections.singletonList("a"), String.class, null), "A");
+    }
+
+    @Test
+    public void testKeepsChainsAtCompileTime() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters().defaultValidators();
+        ParameterPipeline pipeline = converter.compile(new QueryParameter().name("n")
+                .schema(new IntegerSchema().maximum(new BigDecimal(10))));
+
+        converter.getValidators().clear();
+        converter.getConverters().clear();
+
+        assertEquals(pipeline.convertAndValidate(Collections.singletonList("5"), Integer.class, null), 5);
+    }
+
+    @Test
+    public void testCustomValidatorControlsRestOfChain() throws Exception {
+        InputConverter converter = new InputConverter().defaultConverters();
+        converter.addValidator(new StopValidator());
+        converter.addValidator(new NumericValidator());
+        ParameterPipeline pipeline = converter.compile(new QueryParameter().name("n")
+                .schema(new IntegerSchema().maximum(new BigDecimal(10))));
+
+        assertEquals(pipeline.convertAndValidate(Collections.singletonList("11"), Integer.class, null), 11);
+    }
+
+    static class UpperCaseConverter implements Converter {
+        @Override
+        public Object convert(List<String> value, Parameter parameter, Class<?> cls, Map<String, Schema> definitions, Iterator<Converter> chain) {
+            return value.get(0).toUpperCase();
+        }
+
+        @Override
+        public Object convert(List<String> value, RequestBody body, Class<?> cls, Map<String, Schema> definitions, Iterator<Converter> chain) {
+            return null;
+        }
+
+        @Override
+        public Object convert(List<String> value, RequestBody body, Class<?> cls, Class<?> innerClass, Map<String, Schema> definitions, Iterator<Converter> chain) {
+            return null;
+        }
+    }
+
+    static class StopValidator implements Validator {
+        @Override
+        public void validate(Object argument, Parameter parameter, Iterator<Validator> next) {
+        }
+
+        @Override
+        public void validate(Object argument, RequestBody body, Iterator<Validator> next) {
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.swagger.oas.inflector.converters;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class PrimitiveCoercerTest {
+    private static final List<String> NUMBERS = Arrays.asList("0", "-1", "+7", "42", "2147483647", "2147483648",
+            "-2147483648", "-2147483649", "9223372036854775808", "1.5", " 1", "-", "+", "", "abc", "1e3", "NaN",
+            "-Infinity", "0x10", ".5", "5d", "١٢");
+
+    @Test
+    public void testLooksUpSimpleTypes() {
+        assertSame(PrimitiveCoercer.forType(Integer.class), PrimitiveCoercer.INTEGER);
+        assertSame(PrimitiveCoercer.forType(DateTime.class), PrimitiveCoercer.DATE_TIME);
+        assertNull(PrimitiveCoercer.forType(int.class));
+        assertNull(PrimitiveCoercer.forType(List.class));
+        assertNull(PrimitiveCoercer.forType(null));
+    }
+
+    @Test
+    public void testNumbersMatchJdkParsing() {
+        for (String value : NUMBERS) {
+            assertEquals(PrimitiveCoercer.INTEGER.coerce(value), parseInt(value), value);
+            assertEquals(PrimitiveCoercer.LONG.coerce(value), parseLong(value), value);
+            assertEquals(PrimitiveCoercer.DOUBLE.coerce(value), parseDouble(value), value);
+            assertEquals(PrimitiveCoercer.FLOAT.coerce(value), parseFloat(value), value);
+        }
+    }
+
+    @Test
+    public void testCoercesOtherTypes() {
+        UUID uuid = UUID.randomUUID();
+        assertEquals(PrimitiveCoercer.UUID_VALUE.coerce(uuid.toString()), uuid);
+        assertNull(PrimitiveCoercer.UUID_VALUE.coerce("not-a-uuid"));
+        assertNull(PrimitiveCoercer.UUID_VALUE.coerce("x-y-z-w-v"));
+        assertEquals(PrimitiveCoercer.BOOLEAN.coerce("1"), true);
+        assertEquals(PrimitiveCoercer.BOOLEAN.coerce("0"), false);
+        assertEquals(PrimitiveCoercer.BOOLEAN.coerce("TRUE"), true);
+        assertEquals(PrimitiveCoercer.BOOLEAN.coerce("yes"), false);
+        assertEquals(PrimitiveCoercer.LOCAL_DATE.coerce("2017-02-28"), new LocalDate(2017, 2, 28));
+        assertNull(PrimitiveCoercer.LOCAL_DATE.coerce("2017-02-30"));
+        assertEquals(PrimitiveCoercer.DATE_TIME.coerce("2017-02-28T10:00:00Z"), DateTime.parse("2017-02-28T10:00:00Z"));
+        assertNull(PrimitiveCoercer.DATE_TIME.coerce("yesterday"));
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Float parseFloat(String value) {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
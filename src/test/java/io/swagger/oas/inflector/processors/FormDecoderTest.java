@@ -0,0 +1,46 @@
+package io.swagger.oas.inflector.processors;
+
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class FormDecoderTest {
+
+    @Test
+    public void testDecodesNamesAndValues() {
+        Map<String, List<String>> form = decode("user=tony%2Cthe+tam&a%20b=1%3D2=3&topping=bacon&topping=ham&name=&flag&&");
+
+        assertEquals(form.get("user"), Collections.singletonList("tony,the tam"));
+        assertEquals(form.get("a b"), Collections.singletonList("1=2=3"));
+        assertEquals(form.get("topping"), Arrays.asList("bacon", "ham"));
+        assertEquals(form.get("name"), Collections.singletonList(""));
+        assertEquals(form.get("flag"), Collections.singletonList((String) null));
+        assertEquals(form.size(), 5);
+    }
+
+    @Test
+    public void testDecodesCharsetAndKeepsMalformedEscapes() {
+        assertEquals(decode("name=na%C3%AFve").get("name"), Collections.singletonList("na\u00efve"));
+        assertEquals(FormDecoder.decode("name=na%EFve".getBytes(StandardCharsets.US_ASCII), StandardCharsets.ISO_8859_1).get("name"),
+                Collections.singletonList("na\u00efve"));
+        assertEquals(decode("discount=100%&code=%zz%4").get("discount"), Collections.singletonList("100%"));
+        assertEquals(decode("discount=100%&code=%zz%4").get("code"), Collections.singletonList("%zz%4"));
+    }
+
+    @Test
+    public void testEmptyBody() {
+        assertEquals(decode("").size(), 0);
+        assertNull(decode("a=1").get("b"));
+    }
+
+    private static Map<String, List<String>> decode(String body) {
+        return FormDecoder.decode(body.getBytes(StandardCharsets.US_ASCII), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,136 @@
+package io.swagger.oas.inflector.processors;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class MultipartReaderTest {
+    private static final String BOUNDARY = "----boundary42";
+
+    @Test
+    public void testReadsPartsAndHeaders() throws Exception {
+        String body = "preamble\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"description\"\r\n"
+                + "\r\n"
+                + "a dog\r\n"
+                + "--" + BOUNDARY + "  \r\n"
+                + "content-disposition: form-data; name=\"file\"; filename=\"C:\\\\pets\\\\fido \\\"1\\\".txt\"\r\n"
+                + "Content-Type: text/plain;\r\n charset=ISO-8859-1\r\n"
+                + "\r\n"
+                + "line 1\r\nline 2\r\n--not-the-boundary\r\n"
+                + "--" + BOUNDARY + "--\r\n"
+                + "epilogue";
+        MultipartReader reader = reader(body, 1);
+
+        assertTrue(reader.nextPart());
+        MultipartReader.PartHeaders first = reader.readHeaders();
+        assertEquals(first.getName(), "description");
+        assertNull(first.getFilename());
+        assertEquals(read(reader), "a dog");
+
+        assertTrue(reader.nextPart());
+        MultipartReader.PartHeaders second = reader.readHeaders();
+        assertEquals(second.getName(), "file");
+        assertEquals(second.getFilename(), "C:\\pets\\fido \"1\".txt");
+        assertEquals(second.getContentType(), "text/plain; charset=ISO-8859-1");
+        assertEquals(second.getCharset(), StandardCharsets.ISO_8859_1);
+        assertEquals(read(reader), "line 1\r\nline 2\r\n--not-the-boundary");
+
+        assertFalse(reader.nextPart());
+        assertFalse(reader.nextPart());
+    }
+
+    @Test
+    public void testFindsDelimitersAcrossReads() throws Exception {
+        byte[] content = new byte[100000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 7 == 0 ? '\r' : i % 11 == 0 ? '\n' : '-');
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(content);
+        body.write(("\r\n--" + BOUNDARY + "--").getBytes(StandardCharsets.US_ASCII));
+
+        for (int chunk : new int[]{1, 13, 4096, 100000}) {
+            MultipartReader reader = new MultipartReader(chunked(body.toByteArray(), chunk),
+                    BOUNDARY.getBytes(StandardCharsets.US_ASCII));
+            assertTrue(reader.nextPart());
+            assertNull(reader.readHeaders().getName());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(reader.readBody(out), content.length);
+            assertTrue(Arrays.equals(out.toByteArray(), content), "chunk size " + chunk);
+            assertFalse(reader.nextPart());
+        }
+    }
+
+    @Test
+    public void testSkipsUnreadContent() throws Exception {
+        MultipartReader reader = reader("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=a\r\n\r\nskipped\r\n"
+                + "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=b\r\n\r\nread\r\n"
+                + "--" + BOUNDARY + "--", 64);
+
+        assertTrue(reader.nextPart());
+        assertEquals(reader.readHeaders().getName(), "a");
+        assertTrue(reader.nextPart());
+        assertEquals(reader.readHeaders().getName(), "b");
+        assertEquals(read(reader), "read");
+        assertFalse(reader.nextPart());
+    }
+
+    @Test
+    public void testRejectsTruncatedBody() throws Exception {
+        MultipartReader reader = reader("--" + BOUNDARY + "\r\n\r\nno end", 64);
+        assertTrue(reader.nextPart());
+        reader.readHeaders();
+        try {
+            reader.readBody(null);
+            fail("expected an IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParsesExtendedParameters() {
+        Map<String, String> parameters = MultipartReader.parseParameters(
+                "form-data; name=file; filename=\"fallback.txt\"; filename*=UTF-8''na%C3%AFve+1.txt");
+
+        assertEquals(parameters.get("name"), "file");
+        assertEquals(parameters.get("filename"), "na\u00efve+1.txt");
+    }
+
+    private static MultipartReader reader(String body, int chunk) {
+        return new MultipartReader(chunked(body.getBytes(StandardCharsets.UTF_8), chunk),
+                BOUNDARY.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String read(MultipartReader reader) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reader.readBody(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // hands out at most chunk bytes per read, like a slow network
+    private static InputStream chunked(byte[] bytes, final int chunk) {
+        return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, chunk));
+            }
+        };
+    }
+}
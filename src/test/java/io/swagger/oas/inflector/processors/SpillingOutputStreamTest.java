@@ -0,0 +1,64 @@
+package io.swagger.oas.inflector.processors;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SpillingOutputStreamTest {
+
+    @Test
+    public void testKeepsSmallContentInMemory() throws Exception {
+        try (TemporaryFiles temporaryFiles = new TemporaryFiles()) {
+            SpillingOutputStream out = new SpillingOutputStream(16, temporaryFiles);
+            out.write("0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+            out.close();
+
+            assertTrue(out.isInMemory());
+            assertEquals(out.toString(StandardCharsets.US_ASCII), "0123456789abcdef");
+        }
+    }
+
+    @Test
+    public void testSpillsAndCleansUp() throws Exception {
+        File file;
+        File directory;
+        try (TemporaryFiles temporaryFiles = new TemporaryFiles()) {
+            SpillingOutputStream out = new SpillingOutputStream(4, temporaryFiles);
+            out.write("0123".getBytes(StandardCharsets.US_ASCII));
+            out.write("4567".getBytes(StandardCharsets.US_ASCII));
+            out.close();
+            assertFalse(out.isInMemory());
+            assertEquals(out.getSize(), 8);
+
+            InputStream in = out.openStream();
+            assertEquals(IOUtils.toString(in, StandardCharsets.US_ASCII), "01234567");
+
+            file = out.toFile("../fido.txt");
+            directory = file.getParentFile();
+            assertEquals(file.getName(), "fido.txt");
+            assertEquals(new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII), "01234567");
+        }
+        assertFalse(file.exists());
+        assertFalse(directory.exists());
+    }
+
+    @Test
+    public void testKeepsSameNamesApart() throws Exception {
+        try (TemporaryFiles temporaryFiles = new TemporaryFiles()) {
+            File first = temporaryFiles.reserveFile("a.txt");
+            Files.write(first.toPath(), new byte[]{1});
+            File second = temporaryFiles.reserveFile("a.txt");
+
+            assertEquals(second.getName(), "a.txt");
+            assertFalse(second.equals(first));
+        }
+    }
+}
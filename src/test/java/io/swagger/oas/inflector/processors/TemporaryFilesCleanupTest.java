@@ -0,0 +1,52 @@
+package io.swagger.oas.inflector.processors;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TemporaryFilesCleanupTest {
+
+    @Test
+    public void testDeletesFilesOnceRequestFinished() throws Exception {
+        TemporaryFiles temporaryFiles = new TemporaryFiles();
+        File file = temporaryFiles.createFile();
+        ContainerRequest request = mock(ContainerRequest.class);
+        when(request.getProperty(TemporaryFiles.class.getName())).thenReturn(temporaryFiles);
+        RequestEventListener listener = new TemporaryFilesCleanup().onRequest(event(RequestEvent.Type.START, request));
+
+        // the response is written between these
+        listener.onEvent(event(RequestEvent.Type.RESP_FILTERS_FINISHED, request));
+        assertTrue(file.exists());
+        listener.onEvent(event(RequestEvent.Type.FINISHED, request));
+
+        assertFalse(file.exists());
+        assertFalse(file.getParentFile().exists());
+    }
+
+    @Test
+    public void testReleasedFilesBelongToCaller() throws Exception {
+        TemporaryFiles temporaryFiles = new TemporaryFiles();
+        File file = temporaryFiles.createFile();
+        temporaryFiles.release();
+        temporaryFiles.close();
+
+        assertTrue(file.exists());
+        assertTrue(file.delete());
+        assertTrue(file.getParentFile().delete());
+    }
+
+    private static RequestEvent event(RequestEvent.Type type, ContainerRequest request) {
+        RequestEvent event = mock(RequestEvent.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getContainerRequest()).thenReturn(request);
+        return event;
+    }
+}
@@ -0,0 +1,111 @@
+package io.swagger.oas.inflector.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.Error;
+import com.networknt.schema.Schema;
+import io.swagger.v3.core.util.Json;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SchemaValidatorLimitsTest {
+    private static final String NUMBERS = "{\"type\": \"array\", \"items\": {\"type\": \"integer\"}}";
+
+    @BeforeMethod
+    public void setUp() {
+        SchemaValidator.setOpenApiVersion("3.0");
+    }
+
+    @Test
+    public void testStopsAtErrorLimit() throws Exception {
+        Schema schema = SchemaValidator.getValidationSchema(NUMBERS);
+        JsonNode content = Json.mapper().readTree("[\"a\", \"b\", \"c\", \"d\", \"e\"]");
+
+        assertEquals(SchemaValidator.validate(content, schema, SchemaValidator.NO_LIMIT).size(), 5);
+        assertEquals(SchemaValidator.validate(content, schema, 1).size(), 1);
+        assertEquals(SchemaValidator.validate(content, schema, 3).size(), 3);
+        assertFalse(SchemaValidator.validate(content, schema, SchemaValidator.Direction.INPUT, 2, 16));
+    }
+
+    @Test
+    public void testLimitIgnoresErrorsOfMatchingBranches() throws Exception {
+        Schema schema = SchemaValidator.getValidationSchema("{\"type\": \"array\", \"items\": "
+                + "{\"anyOf\": [{\"type\": \"integer\"}, {\"type\": \"string\"}]}}");
+
+        for (int limit = 1; limit <= 2; limit++) {
+            List<Error> errors = SchemaValidator.validate(Json.mapper().readTree("[1, \"a\", 2]"), schema, limit);
+            assertTrue(errors.isEmpty(), "limit " + limit + ": " + errors);
+        }
+        assertEquals(SchemaValidator.validate(Json.mapper().readTree("[1, true, false]"), schema, 1).size(), 1);
+    }
+
+    @Test
+    public void testAbbreviatesLoggedJson() throws Exception {
+        JsonNode content = Json.mapper().readTree("{\"name\": \"" + new String(new char[10000]).replace('\0', 'x') + "\"}");
+
+        assertEquals(SchemaValidator.abbreviate(content, 12), "{\"name\":\"xxx...");
+        assertEquals(SchemaValidator.abbreviate(content, SchemaValidator.NO_LIMIT), content.toString());
+        assertEquals(SchemaValidator.abbreviate(Json.mapper().readTree("[1,2]"), 12), "[1,2]");
+    }
+
+    @Test
+    public void testValidatesLargeArraysInParallel() throws Exception {
+        validatesLargeArraysInParallel();
+        SchemaValidator.setOpenApiVersion("3.1.0");
+        validatesLargeArraysInParallel();
+    }
+
+    private void validatesLargeArraysInParallel() throws Exception {
+        String schema = "{\"type\": \"array\", \"maxItems\": 2000, \"items\": {\"type\": \"object\", "
+                + "\"required\": [\"id\"], \"properties\": {\"id\": {\"type\": \"integer\"}, "
+                + "\"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}}}}}";
+        Schema compiled = SchemaValidator.getValidationSchema(schema);
+        StringBuilder items = new StringBuilder("[");
+        for (int i = 0; i < 2001; i++) {
+            items.append(i > 0 ? "," : "").append(i == 1500 ? "{\"id\": \"x\"}" : i == 7 ? "{}"
+                    : i == 1999 ? "{\"id\": 1, \"tags\": [\"a\", 2]}" : "{\"id\": " + i + "}");
+        }
+        JsonNode content = Json.mapper().readTree(items.append("]").toString());
+
+        List<Error> serial = SchemaValidator.validate(content, compiled, SchemaValidator.NO_LIMIT);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Error> parallel = SchemaValidator.validate(content, compiled, SchemaValidator.NO_LIMIT, 1000, pool);
+
+            assertEquals(serial.size(), 4);
+            assertEquals(parallel.get(0).getKeyword(), "maxItems");
+            assertEquals(describe(parallel), describe(serial));
+            assertTrue(parallel.get(3).getInstanceLocation().toString().contains("1999"), parallel.get(3).toString());
+            assertEquals(SchemaValidator.validate(content, compiled, 2, 1000, pool).size(), 2);
+            assertTrue(SchemaValidator.validate(Json.mapper().readTree("[{\"id\": 1}]"), compiled, 1, 1000, pool).isEmpty());
+            assertFalse(SchemaValidator.validate(content, compiled, SchemaValidator.Direction.INPUT, SchemaValidator.NO_LIMIT,
+                    SchemaValidator.NO_LIMIT, 1000, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testValidatesLargeArraysWithoutPoolSerially() throws Exception {
+        Schema compiled = SchemaValidator.getValidationSchema(NUMBERS);
+        JsonNode content = Json.mapper().readTree("[1, \"a\", 3]");
+        assertEquals(describe(SchemaValidator.validate(content, compiled, SchemaValidator.NO_LIMIT, 2, null)),
+                describe(compiled.validate(content)));
+    }
+
+    private static List<String> describe(List<Error> errors) {
+        List<String> described = new ArrayList<>();
+        for (Error error : errors) {
+            described.add(error.getInstanceLocation() + " " + error.getEvaluationPath() + " "
+                    + error.getSchemaLocation() + " " + error.getMessage());
+        }
+        return described;
+    }
+}
@@ -23,6 +23,9 @@ import io.swagger.oas.test.client.ApiClient;
 import io.swagger.v3.core.util.Json;
 import org.testng.annotations.Test;
 
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -44,6 +47,18 @@ public class ComplexResponseTestIT {
                 mapper.readValue("{\"street\":\"12345 El Monte Road\",\"city\":\"Los Altos Hills\",\"state\":\"CA\",\"zip\":\"94022\"}", JsonNode.class));
     }
 
+    /**
+     * verifies that the mock response is written from its cached body
+     */
+    @Test
+    public void verifyGetComplexResponseWithETag() throws Exception {
+        Response first = client.getResponse("/mockResponses/complexResponse", "GET", new HashMap<String, String>(), null, new HashMap<String, String>(), null, "application/json", null, new String[0]);
+        Response second = client.getResponse("/mockResponses/complexResponse", "GET", new HashMap<String, String>(), null, new HashMap<String, String>(), null, "application/json", null, new String[0]);
+
+        assertNotNull(first.getHeaderString(HttpHeaders.ETAG));
+        assertEquals(second.getHeaderString(HttpHeaders.ETAG), first.getHeaderString(HttpHeaders.ETAG));
+    }
+
     /**
      * verifies that the return value uses the schema example
      */
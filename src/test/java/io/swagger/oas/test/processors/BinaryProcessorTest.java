@@ -32,9 +32,12 @@ import org.testng.annotations.Test;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 public class BinaryProcessorTest {
@@ -90,4 +93,19 @@ public class BinaryProcessorTest {
 
     }
 
+    @Test
+    public void processPassesStreamThrough() throws Exception {
+        Operation operation = new Operation().requestBody(new RequestBody().content(new Content().
+                addMediaType("application/octet-stream",
+                        new io.swagger.v3.oas.models.media.MediaType().
+                                schema(new Schema()
+                                        .type("string")
+                                        .format("binary")))));
+
+        OpenAPIOperationController controller = new OpenAPIOperationController(new Configuration(), "/primitiveBody/binary", HttpMethod.POST, operation, "application/octet-stream", new HashMap<String, Schema>());
+
+        final InputStream entityStream = new ByteArrayInputStream("binary string".getBytes());
+
+        assertSame(processor.process(MediaType.APPLICATION_OCTET_STREAM_TYPE, entityStream, InputStream.class, controller), entityStream);
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2017 SmartBear Software
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.swagger.oas.test.processors;
+
+import io.swagger.oas.inflector.processors.BinaryProcessor;
+import io.swagger.oas.inflector.processors.EntityProcessorFactory;
+import io.swagger.oas.inflector.processors.JacksonProcessor;
+import io.swagger.oas.inflector.processors.PlainProcessor;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.MediaType;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class EntityProcessorFactoryTest {
+
+    @Test
+    public void testResolvesProcessorIgnoringParameters() {
+        EntityProcessorFactory.addProcessor(PlainProcessor.class, MediaType.TEXT_PLAIN_TYPE);
+        EntityProcessorFactory.resolveMediaTypes();
+
+        assertEquals(EntityProcessorFactory.getProcessor(MediaType.valueOf("application/json; charset=UTF-8")).getClass(), JacksonProcessor.class);
+        assertEquals(EntityProcessorFactory.getProcessor(MediaType.valueOf("Multipart/Form-Data; boundary=abc")).getClass(), BinaryProcessor.class);
+        assertEquals(EntityProcessorFactory.getProcessor(MediaType.valueOf("text/plain; charset=ISO-8859-1")).getClass(), PlainProcessor.class);
+        assertEquals(EntityProcessorFactory.getProcessor(MediaType.valueOf("application/*")).getClass(), JacksonProcessor.class);
+        assertNull(EntityProcessorFactory.getProcessor(MediaType.WILDCARD_TYPE));
+        assertNull(EntityProcessorFactory.getProcessor(MediaType.valueOf("image/png")));
+    }
+
+    @Test
+    public void testNegotiatesResponseMediaType() {
+        EntityProcessorFactory.addProcessor(PlainProcessor.class, MediaType.TEXT_PLAIN_TYPE);
+
+        // processors are asked in order, so json wins over plain text even when it is accepted later
+        assertEquals(EntityProcessorFactory.getResponseMediaType(Arrays.asList(MediaType.TEXT_PLAIN_TYPE, MediaType.APPLICATION_JSON_TYPE)),
+                MediaType.APPLICATION_JSON_TYPE);
+        assertEquals(EntityProcessorFactory.getResponseMediaType(Arrays.asList(MediaType.WILDCARD_TYPE, MediaType.TEXT_PLAIN_TYPE)),
+                MediaType.TEXT_PLAIN_TYPE);
+        assertEquals(EntityProcessorFactory.getResponseMediaType(Collections.singletonList(MediaType.WILDCARD_TYPE)),
+                MediaType.APPLICATION_JSON_TYPE);
+    }
+}
@@ -0,0 +1,88 @@
+package io.swagger.oas.test.processors;
+
+import io.swagger.oas.inflector.examples.models.ObjectExample;
+import io.swagger.oas.inflector.examples.models.StringExample;
+import io.swagger.oas.inflector.processors.JsonExampleProvider;
+import io.swagger.oas.inflector.processors.SerializedExampleCache;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+
+public class JsonExampleProviderTest {
+    private final JsonExampleProvider provider = new JsonExampleProvider();
+
+    @Test
+    public void testWritesCachedExampleFromCache() throws Exception {
+        ObjectExample example = new ObjectExample();
+        example.put("name", new StringExample("fido"));
+        Annotation[] annotations = new SerializedExampleCache(example).annotations();
+
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(example, ObjectExample.class, ObjectExample.class, annotations, MediaType.APPLICATION_JSON_TYPE, headers, out);
+
+        // a change after registration is not picked up, the cached bytes are written
+        example.put("name", new StringExample("rex"));
+        MultivaluedMap<String, Object> again = new MultivaluedHashMap<>();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        provider.writeTo(example, ObjectExample.class, ObjectExample.class, annotations, MediaType.APPLICATION_JSON_TYPE, again, second);
+
+        assertEquals(out.toString("utf-8"), "{\"name\":\"fido\"}");
+        assertEquals(second.toByteArray(), out.toByteArray());
+        assertEquals(headers.getFirst(HttpHeaders.CONTENT_LENGTH), out.size());
+        assertNotNull(headers.getFirst(HttpHeaders.ETAG));
+        assertEquals(again.getFirst(HttpHeaders.ETAG), headers.getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testLeavesLengthOfEncodedResponsesToContainer() throws Exception {
+        ObjectExample example = new ObjectExample();
+        example.put("name", new StringExample("fido"));
+        Annotation[] annotations = new SerializedExampleCache(example).annotations();
+
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+        provider.writeTo(example, ObjectExample.class, ObjectExample.class, annotations, MediaType.APPLICATION_JSON_TYPE, headers, new ByteArrayOutputStream());
+
+        assertFalse(headers.containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertNotNull(headers.getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testIgnoresCacheOfOtherExample() throws Exception {
+        ObjectExample cached = new ObjectExample();
+        cached.put("name", new StringExample("rex"));
+        ObjectExample example = new ObjectExample();
+        example.put("name", new StringExample("fido"));
+
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(example, ObjectExample.class, ObjectExample.class, new SerializedExampleCache(cached).annotations(),
+                MediaType.APPLICATION_JSON_TYPE, headers, out);
+
+        assertEquals(out.toString("utf-8"), "{\"name\":\"fido\"}");
+        assertFalse(headers.containsKey(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testWritesUncachedExampleEachTime() throws Exception {
+        ObjectExample example = new ObjectExample();
+        example.put("name", new StringExample("fido"));
+
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(example, ObjectExample.class, ObjectExample.class, null, MediaType.APPLICATION_JSON_TYPE, headers, out);
+
+        assertEquals(out.toString("utf-8"), "{\"name\":\"fido\"}");
+        assertFalse(headers.containsKey(HttpHeaders.ETAG));
+    }
+}
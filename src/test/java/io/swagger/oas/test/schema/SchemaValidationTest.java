@@ -1,11 +1,13 @@
 package io.swagger.oas.test.schema;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.networknt.schema.Error;
 import com.networknt.schema.InputFormat;
 import com.networknt.schema.Schema;
 import com.networknt.schema.SchemaRegistry;
 import com.networknt.schema.SpecificationVersion;
 import io.swagger.oas.inflector.schema.SchemaValidator;
+import io.swagger.v3.core.util.Json;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -14,6 +16,7 @@ import java.util.List;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
@@ -111,6 +114,18 @@ public class SchemaValidationTest {
         assertFalse(SchemaValidator.validate(user, schema, SchemaValidator.Direction.OUTPUT));
     }
 
+    @Test
+    public void testNullPayloadIsValidatedAsJsonNull() {
+        String schema = "{\"type\": \"object\", \"required\": [\"id\"]}";
+        String nullable = "{\"type\": \"object\", \"nullable\": true, \"required\": [\"id\"]}";
+
+        assertFalse(SchemaValidator.validate(null, SchemaValidator.getValidationSchema(schema),
+                SchemaValidator.Direction.OUTPUT));
+        assertFalse(SchemaValidator.validate(null, schema, SchemaValidator.Direction.INPUT, 1, SchemaValidator.NO_LIMIT));
+        assertTrue(SchemaValidator.validate(null, SchemaValidator.getValidationSchema(nullable),
+                SchemaValidator.Direction.INPUT, 1, SchemaValidator.NO_LIMIT));
+    }
+
     @Test
     public void testValidation() {
         String schemaAsString =
@@ -472,6 +487,43 @@ public class SchemaValidationTest {
         assertTrue(SchemaValidator.validate(6, schema, SchemaValidator.Direction.INPUT));
     }
 
+    @Test
+    public void testCompiledSchemaCache() {
+        String schema = "{\"required\": [\"id\"], \"properties\": {\"id\": {\"type\": \"integer\"}}}";
+
+        Schema compiled = SchemaValidator.getValidationSchema(schema);
+
+        assertNotNull(compiled);
+        assertSame(SchemaValidator.getValidationSchema(schema), compiled);
+        assertNotSame(SchemaValidator.getValidationSchema("{\"type\": \"array\"}"), compiled);
+
+        User user = new User();
+        user.name = "Fred";
+        assertFalse(SchemaValidator.validate(user, compiled, SchemaValidator.Direction.INPUT));
+        user.id = 1L;
+        assertTrue(SchemaValidator.validate(user, compiled, SchemaValidator.Direction.INPUT));
+    }
+
+    @Test
+    public void testValidateJsonNodePayload() throws Exception {
+        String schema = "{\"required\": [\"id\"], \"properties\": {\"id\": {\"type\": \"integer\"}}}";
+
+        JsonNode valid = Json.mapper().readTree("{\"id\": 12, \"name\": \"Fred\"}");
+        JsonNode invalid = Json.mapper().readTree("{\"id\": \"twelve\"}");
+
+        assertTrue(SchemaValidator.validate(valid, schema, SchemaValidator.Direction.INPUT));
+        assertFalse(SchemaValidator.validate(invalid, schema, SchemaValidator.Direction.INPUT));
+    }
+
+    @Test
+    public void testCompiledSchemaCacheClearedOnVersionSwitch() {
+        Schema compiled = SchemaValidator.getValidationSchema("{\"type\": \"array\"}");
+
+        SchemaValidator.setOpenApiVersion("3.1.0");
+
+        assertNotSame(SchemaValidator.getValidationSchema("{\"type\": \"array\"}"), compiled);
+    }
+
     static class User {
         public Long id;
         public String name;
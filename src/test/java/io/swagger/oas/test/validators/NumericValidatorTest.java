@@ -17,6 +17,8 @@
 package io.swagger.oas.test.validators;
 
 import io.swagger.oas.inflector.converters.InputConverter;
+import io.swagger.oas.inflector.validators.NumericValidator;
+import io.swagger.oas.inflector.validators.SchemaConstraints;
 import io.swagger.oas.inflector.validators.ValidationException;
 import io.swagger.v3.oas.models.media.NumberSchema;
 import io.swagger.v3.oas.models.media.Schema;
@@ -28,6 +30,8 @@ import org.testng.annotations.Test;
 import java.math.BigDecimal;
 import java.util.Arrays;
 
+import static org.testng.Assert.fail;
+
 public class NumericValidatorTest {
     InputConverter converter;
 
@@ -236,4 +240,34 @@ public class NumericValidatorTest {
 
         InputConverter.getInstance().validate(new Double(4), parameter);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPrecompiledConstraints() throws Exception {
+        QueryParameter parameter = new QueryParameter();
+        parameter.setName("test");
+        Schema schema = new NumberSchema();
+        schema.setMinimum(new BigDecimal("1"));
+        schema.setMaximum(new BigDecimal("10"));
+        schema.setExclusiveMaximum(true);
+        schema.setEnum(Arrays.asList("1", "5", "10"));
+        parameter.setSchema(schema);
+        SchemaConstraints constraints = SchemaConstraints.of(schema);
+        NumericValidator validator = new NumericValidator();
+
+        validator.validate(new Long(5), parameter, constraints);
+        validator.validate(new Integer(1), parameter, constraints);
+        assertInvalid(validator, new Integer(10), parameter, constraints);
+        assertInvalid(validator, new Integer(7), parameter, constraints);
+        assertInvalid(validator, new Integer(0), parameter, constraints);
+    }
+
+    private static void assertInvalid(NumericValidator validator, Object value, QueryParameter parameter,
+                                      SchemaConstraints constraints) {
+        try {
+            validator.validate(value, parameter, constraints);
+            fail("expected `" + value + "` to be rejected");
+        } catch (ValidationException e) {
+            // expected
+        }
+    }
+}